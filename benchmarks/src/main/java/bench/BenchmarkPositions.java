@@ -0,0 +1,23 @@
+package bench;
+
+/**
+ * Posições fixas usadas por todos os benchmarks, para que os números sejam
+ * comparáveis entre versões. Os nomes são os valores aceitos por @Param.
+ */
+final class BenchmarkPositions {
+    static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1";
+    static final String MIDDLEGAME = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w - - 0 1";
+    static final String ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+
+    private BenchmarkPositions() {
+    }
+
+    static String fen(String name) {
+        return switch (name) {
+            case "start" -> START;
+            case "middlegame" -> MIDDLEGAME;
+            case "endgame" -> ENDGAME;
+            default -> throw new IllegalArgumentException("Posição desconhecida: " + name);
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package bench;
+
+import model.Board;
+import model.ChessColor;
+import model.Move;
+import model.MoveCodec;
+import model.MoveList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmarks {
+    @Param({ "start", "middlegame", "endgame" })
+    public String position;
+
+    private Board board;
+    private Move move;
+    private int encodedMove;
+    private final MoveList moveList = new MoveList();
+
+    @Setup
+    public void setup() {
+        board = Board.fromFen(BenchmarkPositions.fen(position));
+        List<Move> moves = board.getAllLegalMoves(board.getSideToMove());
+        move = moves.get(moves.size() / 2);
+        encodedMove = MoveCodec.encode(move);
+    }
+
+    @Benchmark
+    public boolean makeMoveUndo() {
+        board.makeMove(move);
+        return board.undo();
+    }
+
+    @Benchmark
+    public boolean makeEncodedMoveUndo() {
+        board.makeMove(encodedMove);
+        return board.undo();
+    }
+
+    @Benchmark
+    public boolean moveUndo() {
+        board.move(move.from, move.to);
+        return board.undo();
+    }
+
+    @Benchmark
+    public Board copy() {
+        return board.copy();
+    }
+
+    @Benchmark
+    public boolean inCheck() {
+        return board.inCheck(ChessColor.WHITE) | board.inCheck(ChessColor.BLACK);
+    }
+
+    @Benchmark
+    public List<Move> getAllLegalMoves() {
+        return board.getAllLegalMoves(board.getSideToMove());
+    }
+
+    @Benchmark
+    public MoveList generateLegalMoves() {
+        board.generateLegalMoves(moveList);
+        return moveList;
+    }
+}
@@ -0,0 +1,47 @@
+package bench;
+
+import ai.HardAI;
+import model.Board;
+import model.Move;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * chooseMove em profundidade fixa, com uma thread e sem limite de tempo. Cada
+ * chamada usa um HardAI novo para que a tabela de transposição não carregue
+ * resultados de uma medição para a outra.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HardAIBenchmarks {
+    @Param({ "start", "middlegame", "endgame" })
+    public String position;
+
+    @Param({ "3" })
+    public int depth;
+
+    private Board board;
+    private HardAI ai;
+
+    @Setup(Level.Trial)
+    public void loadPosition() {
+        board = Board.fromFen(BenchmarkPositions.fen(position));
+    }
+
+    @Setup(Level.Invocation)
+    public void newEngine() {
+        ai = new HardAI(board.getSideToMove(), 1);
+        ai.setTimeLimit(0);
+        ai.setMaxDepth(depth);
+    }
+
+    @Benchmark
+    public Move chooseMove() {
+        return ai.chooseMove(board);
+    }
+}
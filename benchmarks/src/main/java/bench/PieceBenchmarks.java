@@ -0,0 +1,51 @@
+package bench;
+
+import model.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** legalTargets de cada tipo de peça, somado sobre todas as peças desse tipo na posição. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PieceBenchmarks {
+    @Param({ "start", "middlegame", "endgame" })
+    public String position;
+
+    @Param({ "PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING" })
+    public PieceType type;
+
+    private Board board;
+    private Piece[] pieces;
+    private Position[] squares;
+
+    @Setup
+    public void setup() {
+        board = Board.fromFen(BenchmarkPositions.fen(position));
+        List<Position> found = new ArrayList<>();
+        for (int r = 0; r < 8; r++)
+            for (int c = 0; c < 8; c++) {
+                Piece p = board.at(r, c);
+                if (p != null && p.getType() == type)
+                    found.add(Position.of(r, c));
+            }
+
+        squares = found.toArray(new Position[0]);
+        pieces = new Piece[squares.length];
+        for (int i = 0; i < squares.length; i++)
+            pieces[i] = board.at(squares[i].row, squares[i].col);
+    }
+
+    @Benchmark
+    public void legalTargets(Blackhole bh) {
+        for (int i = 0; i < pieces.length; i++)
+            bh.consume(pieces[i].legalTargets(board, squares[i]));
+    }
+}
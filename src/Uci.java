@@ -0,0 +1,253 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import ai.*;
+import model.*;
+
+/**
+ * Motor sem interface gráfica que fala o protocolo UCI pela entrada e saída
+ * padrão, para ser usado por GUIs e ferramentas de torneio.
+ *
+ * Comandos aceitos: uci, isready, setoption (Hash, Threads), ucinewgame,
+ * position [startpos | fen ...] [moves ...], go [depth | movetime | nodes |
+ * wtime/btime/winc/binc/movestogo | infinite], stop e quit.
+ */
+public class Uci {
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final long MOVE_OVERHEAD_MS = 50;
+
+    private HardAI engine = newEngine(TranspositionTable.DEFAULT_SIZE_MB, 1);
+    private Board board = Board.fromFen(Perft.START_FEN);
+    private Thread search;
+    private CountDownLatch stopRequested;
+
+    public static void main(String[] args) throws IOException {
+        new Uci().run(new BufferedReader(new InputStreamReader(System.in)));
+    }
+
+    private void run(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] tokens = line.trim().split("\\s+");
+            switch (tokens[0]) {
+                case "uci" -> {
+                    send("id name Chess-OO");
+                    send("id author guhhlek");
+                    send("option name Hash type spin default " + TranspositionTable.DEFAULT_SIZE_MB + " min 1 max 1024");
+                    send("option name Threads type spin default 1 min 1 max 64");
+                    send("uciok");
+                }
+                case "isready" -> send("readyok");
+                case "setoption" -> setOption(tokens);
+                case "ucinewgame" -> {
+                    stopSearch();
+                    engine.clearHash();
+                }
+                case "position" -> position(tokens);
+                case "go" -> go(tokens);
+                case "stop" -> stopSearch();
+                case "quit" -> {
+                    stopSearch();
+                    return;
+                }
+                default -> {
+                    // Comandos desconhecidos são ignorados, como pede o protocolo.
+                }
+            }
+        }
+        stopSearch();
+    }
+
+    private void setOption(String[] tokens) {
+        stopSearch();
+        String name = value(tokens, "name");
+        String value = value(tokens, "value");
+        if (name == null || value == null)
+            return;
+        try {
+            if (name.equalsIgnoreCase("Hash"))
+                engine = newEngine(Integer.parseInt(value), engine.getThreads());
+            else if (name.equalsIgnoreCase("Threads"))
+                engine.setThreads(Integer.parseInt(value));
+        } catch (IllegalArgumentException e) {
+            send("info string valor inválido para " + name + ": " + value);
+        }
+    }
+
+    private HardAI newEngine(int hashSizeMb, int threads) {
+        HardAI ai = new HardAI(ChessColor.WHITE, hashSizeMb);
+        ai.setThreads(threads);
+        ai.setListener(this::info);
+        return ai;
+    }
+
+    private void position(String[] tokens) {
+        stopSearch();
+        int i = 1;
+        Board b;
+        if (i < tokens.length && tokens[i].equals("fen")) {
+            StringBuilder fen = new StringBuilder();
+            for (i++; i < tokens.length && !tokens[i].equals("moves"); i++)
+                fen.append(tokens[i]).append(' ');
+            try {
+                b = Board.fromFen(fen.toString());
+            } catch (IllegalArgumentException e) {
+                send("info string " + e.getMessage());
+                return;
+            }
+        } else {
+            b = Board.fromFen(Perft.START_FEN);
+            i++;
+        }
+
+        if (i < tokens.length && tokens[i].equals("moves")) {
+            MoveList legal = new MoveList();
+            for (i++; i < tokens.length; i++) {
+                int move = findMove(b, tokens[i], legal);
+                if (move == MoveCodec.NONE) {
+                    send("info string lance inválido: " + tokens[i]);
+                    break;
+                }
+                b.makeMove(move);
+            }
+        }
+        board = b;
+    }
+
+    private static int findMove(Board b, String text, MoveList legal) {
+        b.generateLegalMoves(legal);
+        for (int i = 0; i < legal.size(); i++)
+            if (MoveCodec.toString(legal.get(i)).equals(text))
+                return legal.get(i);
+        return MoveCodec.NONE;
+    }
+
+    private void go(String[] tokens) {
+        stopSearch();
+        boolean infinite = false;
+        int depth = Integer.MAX_VALUE;
+        long moveTime = 0, nodes = 0;
+        long whiteTime = -1, blackTime = -1, whiteIncrement = 0, blackIncrement = 0;
+        int movesToGo = DEFAULT_MOVES_TO_GO;
+        try {
+            for (int i = 1; i < tokens.length; i++) {
+                switch (tokens[i]) {
+                    case "infinite" -> infinite = true;
+                    case "depth" -> depth = Integer.parseInt(tokens[++i]);
+                    case "movetime" -> moveTime = Long.parseLong(tokens[++i]);
+                    case "nodes" -> nodes = Long.parseLong(tokens[++i]);
+                    case "wtime" -> whiteTime = Long.parseLong(tokens[++i]);
+                    case "btime" -> blackTime = Long.parseLong(tokens[++i]);
+                    case "winc" -> whiteIncrement = Long.parseLong(tokens[++i]);
+                    case "binc" -> blackIncrement = Long.parseLong(tokens[++i]);
+                    case "movestogo" -> movesToGo = Math.max(1, Integer.parseInt(tokens[++i]));
+                    default -> {
+                    }
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            send("info string parâmetro inválido em go");
+            return;
+        }
+
+        // Sem movetime, divide o relógio restante entre os lances que faltam.
+        boolean white = board.getSideToMove() == ChessColor.WHITE;
+        long time = white ? whiteTime : blackTime;
+        long increment = white ? whiteIncrement : blackIncrement;
+        if (moveTime == 0 && time >= 0)
+            moveTime = Math.max(1, Math.min(time / movesToGo + increment, time - MOVE_OVERHEAD_MS));
+
+        if (infinite) {
+            depth = Integer.MAX_VALUE;
+            moveTime = nodes = 0;
+        }
+        engine.setMaxDepth(depth);
+        engine.setTimeLimit(moveTime);
+        engine.setNodeLimit(nodes);
+
+        Board position = board;
+        HardAI ai = engine;
+        CountDownLatch stop = new CountDownLatch(1);
+        boolean holdBestMove = infinite;
+        stopRequested = stop;
+        search = new Thread(() -> {
+            Move best = ai.chooseMove(position, () -> stop.getCount() == 0);
+            // Em go infinite, bestmove só pode sair depois de stop, mesmo que a
+            // busca acabe antes (mate encontrado, profundidade máxima).
+            if (holdBestMove)
+                awaitUninterruptibly(stop);
+            send("bestmove " + (best == null ? "0000" : best));
+        }, "uci-search");
+        search.start();
+    }
+
+    private void info(int depth, int score, long nodes, long elapsedMillis, List<Move> pv) {
+        long nps = nodes * 1000 / Math.max(1, elapsedMillis);
+        StringBuilder line = new StringBuilder("info depth " + depth + " score " + score(score) + " nodes " + nodes
+                + " nps " + nps + " time " + elapsedMillis + " pv");
+        for (Move m : pv)
+            line.append(' ').append(m);
+        send(line.toString());
+    }
+
+    // A avaliação usa peão = 10; UCI espera centipeões ou mate em lances.
+    private static String score(int score) {
+        if (Math.abs(score) > HardAI.MATE_THRESHOLD) {
+            int moves = (HardAI.MATE - Math.abs(score) + 1) / 2;
+            return "mate " + (score > 0 ? moves : -moves);
+        }
+        return "cp " + score * 10;
+    }
+
+    // Encerra a busca em andamento, se houver, e espera o bestmove dela sair.
+    private void stopSearch() {
+        if (search == null)
+            return;
+        stopRequested.countDown();
+        boolean interrupted = false;
+        while (search.isAlive()) {
+            try {
+                search.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        search = null;
+        stopRequested = null;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (latch.getCount() > 0) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                // Só stop ou quit liberam o bestmove.
+            }
+        }
+    }
+
+    // Valor que segue a palavra-chave em "setoption name X value Y".
+    private static String value(String[] tokens, String key) {
+        StringBuilder sb = null;
+        for (String t : tokens) {
+            if (sb != null) {
+                if (t.equals("name") || t.equals("value"))
+                    break;
+                sb.append(sb.length() > 0 ? " " : "").append(t);
+            } else if (t.equals(key)) {
+                sb = new StringBuilder();
+            }
+        }
+        return sb == null ? null : sb.toString();
+    }
+
+    private static synchronized void send(String line) {
+        System.out.println(line);
+        System.out.flush();
+    }
+}
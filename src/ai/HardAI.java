@@ -2,150 +2,612 @@ package ai;
 
 import model.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
 public class HardAI extends ChessAI {
-    private final int MAX_DEPTH = 3; // Profundidade do Minimax
+    private static final int MAX_DEPTH = 64; // Profundidade máxima do aprofundamento iterativo
+    private static final long DEFAULT_TIME_LIMIT_MS = 2000;
+
+    static final int INFINITY = 1_000_000;
+    public static final int MATE = 100_000;
+    private static final int MAX_PLY = 128;
+    /** Placares com valor absoluto acima disto indicam mate; MATE - |placar| é a distância em plies. */
+    public static final int MATE_THRESHOLD = MATE - MAX_PLY;
+    private static final int DELTA_MARGIN = 20; // Folga da poda delta (dois peões)
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int LMR_MIN_DEPTH = 3;
+    private static final int LMR_MIN_MOVES = 3; // Lances buscados sem redução em cada nó
+    private static final int ASPIRATION_WINDOW = 5; // Meio peão em torno do placar anterior
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    // Linhas alcançadas pelo primeiro passo de um peão que ainda pode avançar duas casas.
+    private static final long WHITE_DOUBLE_PUSH_ROW = 0xFFL << 40;
+    private static final long BLACK_DOUBLE_PUSH_ROW = 0xFFL << 16;
+
+    private final TranspositionTable table;
+    private int maxDepth = MAX_DEPTH;
+    private long timeLimitMillis = DEFAULT_TIME_LIMIT_MS;
+    private long nodeLimit;
+    private int threads = 1;
+    private ForkJoinPool pool;
+    private MoveOrdering ordering;
+    private SearchListener listener;
+
+    private long deadline;
+    private long searchNodeLimit;
+    private BooleanSupplier cancelled;
+    private final AtomicLong nodes = new AtomicLong();
+    private volatile boolean stopped;
+    private int rootScore;
+    private int completedDepth;
+    private List<Move> principalVariation = List.of();
 
     public HardAI(ChessColor color) {
+        this(color, TranspositionTable.DEFAULT_SIZE_MB);
+    }
+
+    public HardAI(ChessColor color, int hashSizeMb) {
         super(color);
+        table = new TranspositionTable(hashSizeMb);
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = Math.max(1, Math.min(maxDepth, MAX_DEPTH));
+    }
+
+    /** Tempo por lance em milissegundos; 0 desativa o limite. */
+    public void setTimeLimit(long millis) {
+        this.timeLimitMillis = millis;
+    }
+
+    /** Máximo de nós por lance; 0 desativa o limite. */
+    public void setNodeLimit(long nodes) {
+        this.nodeLimit = nodes;
+    }
+
+    /**
+     * Número de threads da busca. Com mais de uma, os lances da raiz (exceto o
+     * primeiro, que define a janela) são divididos entre as threads de um
+     * ForkJoinPool, compartilhando a tabela de transposição.
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+        if (pool != null && pool.getParallelism() != this.threads) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    public void setListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    /** Esquece as posições guardadas, por exemplo ao começar outra partida. */
+    public void clearHash() {
+        table.clear();
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getNodes() {
+        return nodes.get();
+    }
+
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /** Variante principal da última iteração completa, começando pelo lance escolhido. */
+    public List<Move> getPrincipalVariation() {
+        return principalVariation;
     }
 
     @Override
     public Move chooseMove(Board board) {
-        return minimaxRoot(board, MAX_DEPTH, color);
+        return chooseMove(board, () -> false);
+    }
+
+    /**
+     * Como chooseMove(Board), mas a busca também termina, devolvendo o melhor
+     * lance já encontrado, quando cancelled passa a devolver true.
+     */
+    public Move chooseMove(Board board, BooleanSupplier cancelled) {
+        return search(board, timeLimitMillis, nodeLimit, cancelled, false);
+    }
+
+    /**
+     * Busca na posição do adversário, sem limite de tempo, até que cancelled
+     * devolva true. O resultado fica só na tabela de transposição, que a busca
+     * seguinte reaproveita qualquer que seja a resposta jogada.
+     */
+    public void ponder(Board board, BooleanSupplier cancelled) {
+        search(board, 0, 0, cancelled, true);
     }
 
-    private Move minimaxRoot(Board board, int depth, ChessColor color) {
-        List<Move> moves = board.getAllLegalMoves(color);
+    private Move search(Board board, long timeLimitMillis, long nodeLimit, BooleanSupplier cancelled,
+            boolean pondering) {
+        Board search = board.copy();
+        MoveList moves = new MoveList();
+        search.generateLegalMoves(moves);
         if (moves.isEmpty())
             return null;
 
-        Move bestMove = null;
-        int bestValue = Integer.MIN_VALUE;
+        table.newSearch();
+        long start = System.nanoTime();
+        deadline = timeLimitMillis > 0 ? start + timeLimitMillis * 1_000_000 : Long.MAX_VALUE;
+        searchNodeLimit = nodeLimit;
+        this.cancelled = cancelled;
+        nodes.set(0);
+        stopped = cancelled.getAsBoolean();
+        completedDepth = 0;
+        principalVariation = List.of();
+        ordering = new MoveOrdering(MAX_PLY);
+        ordering.sort(moves, MoveCodec.NONE, 0, search.getSideToMove());
 
-        for (Move move : moves) {
-            Board copy = board.copy();
-            copy.move(move.from, move.to);
+        int bestMove = moves.get(0);
+        if (moves.size() == 1)
+            return search.toMove(bestMove);
 
-            int value = minimax(copy, depth - 1, false, color, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        // Aprofundamento iterativo: só o resultado de iterações completas é usado.
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            RootResult result = aspirationSearch(search, moves, depth);
+            if (stopped)
+                break;
 
-            if (value > bestValue) {
-                bestValue = value;
-                bestMove = move;
-            }
+            bestMove = result.move;
+            completedDepth = depth;
+            principalVariation = toMoves(search, result.pv);
+            if (listener != null && !pondering)
+                listener.iterationCompleted(depth, rootScore, nodes.get(),
+                        (System.nanoTime() - start) / 1_000_000, principalVariation);
+            if (Math.abs(rootScore) > MATE_THRESHOLD)
+                break;
+            // A próxima iteração custa bem mais que esta; não vale começá-la sem tempo.
+            if (timeLimitMillis > 0 && System.nanoTime() - start > (deadline - start) / 2)
+                break;
         }
 
-        return bestMove;
+        return search.toMove(bestMove);
     }
 
-    private int minimax(Board board, int depth, boolean maximizingPlayer, ChessColor myColor, int alpha, int beta) {
-        if (depth == 0)
-            return evaluateBoard(board, myColor);
+    // Janela de aspiração: a iteração começa com uma janela estreita em torno do
+    // placar anterior e só a alarga, buscando de novo, se o placar cair fora dela.
+    private RootResult aspirationSearch(Board board, MoveList moves, int depth) {
+        int window = ASPIRATION_WINDOW;
+        int alpha = -INFINITY, beta = INFINITY;
+        if (depth > 1 && Math.abs(rootScore) < MATE_THRESHOLD) {
+            alpha = rootScore - window;
+            beta = rootScore + window;
+        }
 
-        ChessColor currentColor = maximizingPlayer ? myColor
-                : (myColor == ChessColor.WHITE ? ChessColor.BLACK : ChessColor.WHITE);
-        List<Move> moves = board.getAllLegalMoves(currentColor);
+        while (true) {
+            RootResult result = minimaxRoot(board, moves, depth, alpha, beta);
+            if (stopped)
+                return result;
 
-        if (moves.isEmpty()) {
-            if (board.inCheck(currentColor)) {
-                return maximizingPlayer ? Integer.MIN_VALUE + 1 : Integer.MAX_VALUE - 1;
+            window *= 4;
+            if (result.score <= alpha) {
+                alpha = Math.max(-INFINITY, alpha - window);
+            } else if (result.score >= beta) {
+                beta = Math.min(INFINITY, result.score + window);
+                moves.moveToFront(MoveCodec.key(result.move));
             } else {
-                return 0;
+                rootScore = result.score;
+                table.store(board.getHash(), depth, result.score, TranspositionTable.EXACT, result.move);
+                return result;
             }
         }
+    }
 
-        if (maximizingPlayer) {
-            int maxEval = Integer.MIN_VALUE;
-            for (Move move : moves) {
-                Board copy = board.copy();
-                copy.move(move.from, move.to);
-                int eval = minimax(copy, depth - 1, false, myColor, alpha, beta);
-                maxEval = Math.max(maxEval, eval);
-                alpha = Math.max(alpha, eval);
-                if (beta <= alpha)
-                    break;
+    private RootResult minimaxRoot(Board board, MoveList moves, int depth, int alpha, int beta) {
+        long entry = table.probe(board.getHash());
+        if (entry != 0)
+            moves.moveToFront(TranspositionTable.move(entry));
+
+        RootResult result = new RootResult(alpha, beta);
+        if (threads > 1 && moves.size() > 1)
+            parallelRoot(board, moves, depth, result);
+        else
+            sequentialRoot(board, moves, depth, result);
+        if (result.index >= 0)
+            result.move = moves.get(result.index);
+        return result;
+    }
+
+    private void sequentialRoot(Board board, MoveList moves, int depth, RootResult result) {
+        Searcher searcher = new Searcher(board, ordering);
+        for (int i = 0; i < moves.size() && !stopped && !result.failedHigh(); i++)
+            searcher.searchRootMove(moves.get(i), i, depth, result);
+        searcher.flushNodes();
+    }
+
+    // Divisão na raiz: o primeiro lance é buscado sozinho para estabelecer alpha,
+    // os demais são distribuídos, cada um em sua própria cópia do tabuleiro.
+    private void parallelRoot(Board board, MoveList moves, int depth, RootResult result) {
+        Searcher first = new Searcher(board, ordering);
+        first.searchRootMove(moves.get(0), 0, depth, result);
+        first.flushNodes();
+        if (result.failedHigh())
+            return;
+
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (int i = 1; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int index = i;
+            Board copy = board.copy();
+            MoveOrdering taskOrdering = ordering.copy();
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    if (stopped || result.failedHigh())
+                        return;
+                    Searcher searcher = new Searcher(copy, taskOrdering);
+                    searcher.searchRootMove(move, index, depth, result);
+                    searcher.flushNodes();
+                }
+            });
+        }
+
+        if (pool == null)
+            pool = new ForkJoinPool(threads);
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
             }
-            return maxEval;
-        } else {
-            int minEval = Integer.MAX_VALUE;
-            for (Move move : moves) {
-                Board copy = board.copy();
-                copy.move(move.from, move.to);
-                int eval = minimax(copy, depth - 1, true, myColor, alpha, beta);
-                minEval = Math.min(minEval, eval);
-                beta = Math.min(beta, eval);
-                if (beta <= alpha)
-                    break;
+        });
+    }
+
+    // Melhor lance da raiz dentro da janela (alpha, beta). Se nenhum lance passar
+    // de alpha, score fica em alpha e index em -1.
+    private static class RootResult {
+        private final int beta;
+        private int score;
+        private int index = -1;
+        private int move = MoveCodec.NONE;
+        private int[] pv = new int[0];
+
+        RootResult(int alpha, int beta) {
+            this.score = alpha;
+            this.beta = beta;
+        }
+
+        synchronized int alpha() {
+            return score;
+        }
+
+        synchronized boolean failedHigh() {
+            return score >= beta;
+        }
+
+        // Só valores acima do alpha usado na busca são exatos; empates ficam com o
+        // lance que vem antes na ordenação, como na busca sequencial.
+        synchronized void offer(int index, int value, int alphaUsed, int[] pv) {
+            if (value <= alphaUsed)
+                return;
+            if (value > score || (value == score && index < this.index)) {
+                score = value;
+                this.index = index;
+                this.pv = pv;
             }
-            return minEval;
         }
     }
 
-    private int evaluateBoard(Board board, ChessColor myColor) {
-        int score = 0;
+    // Estado de uma thread de busca: o tabuleiro em que ela faz e desfaz lances, as
+    // listas de lances pré-alocadas por ply, a ordenação e o contador local de nós,
+    // repassado ao total a cada 1024.
+    private class Searcher {
+        private final Board board;
+        private final MoveOrdering ordering;
+        private final MovePicker[] pickers = new MovePicker[MAX_PLY];
+        // Tabela triangular da variante principal: pv[ply] guarda a linha a partir de ply.
+        private final int[][] pv = new int[MAX_PLY][MAX_PLY];
+        private final int[] pvLength = new int[MAX_PLY];
+        private long localNodes;
 
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                Piece p = board.at(r, c);
-                if (p == null)
-                    continue;
+        Searcher(Board board, MoveOrdering ordering) {
+            this.board = board;
+            this.ordering = ordering;
+        }
+
+        // Busca por variante principal: só o primeiro lance usa a janela inteira; os
+        // outros só precisam provar que não passam de alpha, com janela nula, e são
+        // buscados de novo se passarem.
+        void searchRootMove(int move, int index, int depth, RootResult result) {
+            int alpha = result.alpha();
+            int beta = result.beta;
+            board.makeMove(move);
+            int value;
+            if (index == 0) {
+                value = -minimax(depth - 1, 1, -beta, -alpha, true);
+            } else {
+                value = -minimax(depth - 1, 1, -alpha - 1, -alpha, true);
+                if (value > alpha && value < beta && !stopped)
+                    value = -minimax(depth - 1, 1, -beta, -alpha, true);
+            }
+            board.undo();
+            if (stopped)
+                return;
+
+            int[] line = new int[pvLength[1] + 1];
+            line[0] = move;
+            System.arraycopy(pv[1], 0, line, 1, pvLength[1]);
+            result.offer(index, value, alpha, line);
+        }
+
+        // Os pickers são criados na primeira vez que a busca chega ao ply.
+        private MovePicker picker(int ply) {
+            if (pickers[ply] == null)
+                pickers[ply] = new MovePicker();
+            return pickers[ply];
+        }
 
-                int value = getPieceValue(p);
-                if (p.getColor() == myColor)
-                    score += value;
-                else
-                    score -= value;
+        private void updatePv(int ply, int move) {
+            pv[ply][0] = move;
+            int length = ply + 1 < MAX_PLY ? pvLength[ply + 1] : 0;
+            if (length > 0)
+                System.arraycopy(pv[ply + 1], 0, pv[ply], 1, length);
+            pvLength[ply] = length + 1;
+        }
+
+        void flushNodes() {
+            nodes.addAndGet(localNodes & 1023);
+            localNodes = 0;
+        }
+
+        private boolean limitReached() {
+            if ((++localNodes & 1023) == 0) {
+                long total = nodes.addAndGet(1024);
+                if (System.nanoTime() > deadline || (searchNodeLimit > 0 && total >= searchNodeLimit)
+                        || cancelled.getAsBoolean())
+                    stopped = true;
+            }
+            return stopped;
+        }
+
+        // Negamax: o valor é sempre do ponto de vista de quem joga na posição.
+        // allowNull impede dois lances nulos seguidos.
+        private int minimax(int depth, int ply, int alpha, int beta, boolean allowNull) {
+            pvLength[ply] = 0;
+            if (limitReached())
+                return 0;
 
-                if (c >= 2 && c <= 5 && r >= 2 && r <= 5) {
-                    score += (p.getColor() == myColor ? 5 : -5);
+            if (depth == 0)
+                return quiesce(ply, alpha, beta);
+
+            ChessColor side = board.getSideToMove();
+            // Nós com janela aberta estão na variante principal; neles a tabela não
+            // corta a busca, para que a linha seja reconstruída por inteiro.
+            boolean pvNode = beta - alpha > 1;
+
+            long hash = board.getHash();
+            long entry = table.probe(hash);
+            int hashMove = 0;
+            if (entry != 0) {
+                hashMove = TranspositionTable.move(entry);
+                if (!pvNode && TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER && score >= beta)
+                            || (bound == TranspositionTable.UPPER && score <= alpha))
+                        return score;
                 }
+            }
+
+            boolean inCheck = board.inCheck(side);
 
-                int mobility = p.legalTargets(board, new Position(r, c)).size();
-                score += (p.getColor() == myColor ? mobility : -mobility);
+            // Lance nulo: se passar a vez ainda deixa o lado acima de beta, um lance
+            // de verdade também deixaria. Não vale em cheque nem só com rei e peões,
+            // onde o zugzwang é comum e passar a vez seria melhor que qualquer lance.
+            if (allowNull && !pvNode && !inCheck && depth >= NULL_MOVE_MIN_DEPTH && Math.abs(beta) < MATE_THRESHOLD
+                    && hasPieces(board, side) && evaluateBoard(board, side) >= beta) {
+                int reduction = depth > 6 ? 3 : 2;
+                board.makeNullMove();
+                int eval = -minimax(Math.max(0, depth - 1 - reduction), ply + 1, -beta, -beta + 1, false);
+                board.undoNullMove();
+                if (stopped)
+                    return 0;
+                if (eval >= beta)
+                    return beta;
+            }
+
+            MovePicker picker = picker(ply);
+            picker.init(board, ordering, hashMove, ply, false);
+
+            int alphaOrig = alpha;
+            int best = -INFINITY;
+            int bestMove = MoveCodec.NONE;
+            int i = 0; // Lances legais já buscados
+            for (int move = picker.next(); move != MoveCodec.NONE; move = picker.next()) {
+                board.makeMove(move);
+                if (board.inCheck(side)) {
+                    board.undo();
+                    continue;
+                }
+
+                int eval;
+                if (i == 0) {
+                    eval = -minimax(depth - 1, ply + 1, -beta, -alpha, true);
+                } else {
+                    // Redução de lances tardios: lances quietos que a ordenação deixou
+                    // para o fim são buscados mais rasos; se algum superar alpha, volta
+                    // à profundidade cheia e, dentro da janela, à janela cheia (PVS).
+                    int reduction = 0;
+                    if (i >= LMR_MIN_MOVES && depth >= LMR_MIN_DEPTH && !inCheck
+                            && !MoveCodec.isCapture(move) && !MoveCodec.isPromotion(move)
+                            && !board.inCheck(side.opposite()))
+                        reduction = i >= 6 && depth >= 6 ? 2 : 1;
+                    eval = -minimax(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, true);
+                    if (eval > alpha && reduction > 0 && !stopped)
+                        eval = -minimax(depth - 1, ply + 1, -alpha - 1, -alpha, true);
+                    if (eval > alpha && eval < beta && !stopped)
+                        eval = -minimax(depth - 1, ply + 1, -beta, -alpha, true);
+                }
+                board.undo();
+                if (stopped)
+                    return 0;
+
+                if (eval > best) {
+                    best = eval;
+                    bestMove = move;
+                }
+                if (eval > alpha) {
+                    alpha = eval;
+                    updatePv(ply, move);
+                }
+                if (beta <= alpha) {
+                    ordering.recordCutoff(move, ply, depth, side);
+                    break;
+                }
+                i++;
             }
+            // Nenhum lance legal: mate ou afogamento.
+            if (best == -INFINITY)
+                return inCheck ? -MATE + ply : 0;
+
+            int bound = best >= beta ? TranspositionTable.LOWER
+                    : best <= alphaOrig ? TranspositionTable.UPPER : TranspositionTable.EXACT;
+            table.store(hash, depth, toTable(best, ply), bound, bestMove);
+            return best;
         }
 
-        Position myKing = board.findKing(myColor);
-        if (myKing != null) {
-            score -= countAttacks(board, myKing, myColor) * 10;
+        // Busca de quiescência: só capturas (ou todas as respostas, se em cheque),
+        // para que a avaliação nunca seja feita no meio de uma troca.
+        private int quiesce(int ply, int alpha, int beta) {
+            pvLength[ply] = 0;
+            if (limitReached())
+                return 0;
+
+            ChessColor side = board.getSideToMove();
+            boolean inCheck = board.inCheck(side);
+            int standPat = inCheck ? -INFINITY : evaluateBoard(board, side);
+            if (standPat >= beta || ply >= MAX_PLY - 1)
+                return inCheck ? evaluateBoard(board, side) : standPat;
+
+            MovePicker picker = picker(ply);
+            picker.init(board, ordering, MoveCodec.NONE, ply, !inCheck);
+
+            int best = standPat;
+            alpha = Math.max(alpha, standPat);
+            for (int move = picker.next(); move != MoveCodec.NONE; move = picker.next()) {
+                // Poda delta: nem ganhando a peça com folga a captura alcançaria alpha.
+                if (!inCheck && MoveCodec.isCapture(move)
+                        && standPat + PieceSquareTable.value(MoveCodec.captured(move)) + DELTA_MARGIN <= alpha)
+                    continue;
+                // Poda por SEE: fora de cheque, capturas que perdem material na troca não são buscadas.
+                if (!inCheck && board.see(move) < 0)
+                    continue;
+
+                board.makeMove(move);
+                if (board.inCheck(side)) {
+                    board.undo();
+                    continue;
+                }
+                int eval = -quiesce(ply + 1, -beta, -alpha);
+                board.undo();
+                if (stopped)
+                    return 0;
+
+                if (eval > best)
+                    best = eval;
+                alpha = Math.max(alpha, eval);
+                if (beta <= alpha)
+                    break;
+            }
+            // Em cheque sem resposta legal é mate.
+            return best == -INFINITY ? -MATE + ply : best;
         }
+    }
 
-        Position enemyKing = board.findKing(myColor == ChessColor.WHITE ? ChessColor.BLACK : ChessColor.WHITE);
-        if (enemyKing != null) {
-            score += countAttacks(board, enemyKing, myColor == ChessColor.WHITE ? ChessColor.BLACK : ChessColor.WHITE)
-                    * 10;
+    // Converte a linha para Move, aplicando os lances num tabuleiro que depois é restaurado.
+    private static List<Move> toMoves(Board board, int[] line) {
+        List<Move> moves = new ArrayList<>(line.length);
+        for (int move : line) {
+            moves.add(board.toMove(move));
+            board.makeMove(move);
         }
+        for (int i = 0; i < line.length; i++)
+            board.undo();
+        return moves;
+    }
+
+    private static boolean hasPieces(Board board, ChessColor color) {
+        BitboardPosition bits = board.getBitboards();
+        return (bits.pieces(PieceType.KNIGHT, color) | bits.pieces(PieceType.BISHOP, color)
+                | bits.pieces(PieceType.ROOK, color) | bits.pieces(PieceType.QUEEN, color)) != 0;
+    }
 
+    // Placares de mate são guardados relativos ao nó, não à raiz.
+    private static int toTable(int score, int ply) {
+        if (score > MATE - MAX_PLY)
+            return score + ply;
+        if (score < -MATE + MAX_PLY)
+            return score - ply;
         return score;
     }
 
-    private int countAttacks(Board board, Position pos, ChessColor color) {
-        int attacks = 0;
-        ChessColor enemy = (color == ChessColor.WHITE) ? ChessColor.BLACK : ChessColor.WHITE;
+    private static int fromTable(int score, int ply) {
+        if (score > MATE - MAX_PLY)
+            return score - ply;
+        if (score < -MATE + MAX_PLY)
+            return score + ply;
+        return score;
+    }
 
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                Piece p = board.at(r, c);
-                if (p != null && p.getColor() == enemy) {
-                    List<Position> targets = p.legalTargets(board, new Position(r, c));
-                    if (targets.contains(pos))
-                        attacks++;
-                }
+    // Material e bônus de casa vêm prontos do Board; mobilidade e ataques ao rei
+    // saem das tabelas de ataque, sem gerar listas de lances.
+    private int evaluateBoard(Board board, ChessColor myColor) {
+        ChessColor enemy = myColor.opposite();
+        return board.getPieceSquareScore(myColor) - board.getPieceSquareScore(enemy)
+                + activity(board, myColor) - activity(board, enemy);
+    }
+
+    // Mobilidade (as mesmas casas de legalTargets) mais 10 por peça que ataca o rei
+    // adversário.
+    private int activity(Board board, ChessColor color) {
+        BitboardPosition bits = board.getBitboards();
+        long own = bits.occupancy(color);
+        long enemy = bits.occupancy(color.opposite());
+        long occupied = bits.occupied();
+        int kingSquare = bits.kingSquare(color.opposite());
+        long enemyKing = kingSquare < 0 ? 0 : 1L << kingSquare;
+
+        int mobility = 0, kingAttackers = 0;
+        for (PieceType type : PIECE_TYPES) {
+            long pieces = bits.pieces(type, color);
+            while (pieces != 0) {
+                int sq = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                long attacks = Attacks.of(type, color, sq, occupied);
+                // Peão só alcança a diagonal se houver peça adversária lá.
+                attacks &= type == PieceType.PAWN ? enemy : ~own;
+                mobility += Long.bitCount(attacks);
+                if ((attacks & enemyKing) != 0)
+                    kingAttackers++;
             }
         }
-        return attacks;
-    }
 
-    private int getPieceValue(Piece p) {
-        return switch (p.getClass().getSimpleName()) {
-            case "Pawn" -> 10;
-            case "Knight" -> 30;
-            case "Bishop" -> 30;
-            case "Rook" -> 50;
-            case "Queen" -> 90;
-            case "King" -> 900;
-            default -> 0;
-        };
+        long pawns = bits.pieces(PieceType.PAWN, color);
+        long empty = ~occupied;
+        long single, pushes;
+        if (color == ChessColor.WHITE) {
+            single = (pawns >>> 8) & empty;
+            pushes = ((single & WHITE_DOUBLE_PUSH_ROW) >>> 8) & empty;
+        } else {
+            single = (pawns << 8) & empty;
+            pushes = ((single & BLACK_DOUBLE_PUSH_ROW) << 8) & empty;
+        }
+        mobility += Long.bitCount(single) + Long.bitCount(pushes);
+
+        return mobility + kingAttackers * 10;
     }
 }
@@ -11,16 +11,27 @@ public class MediumAI extends ChessAI {
         super(color);
     }
 
+    // Joga a captura que mais ganha pela troca estática (SEE); sem captura que
+    // ganhe material, escolhe um lance ao acaso.
     @Override
     public Move chooseMove(Board board) {
         List<Move> moves = board.getAllLegalMoves(color);
         if (moves.isEmpty())
             return null;
 
+        Move best = null;
+        int bestGain = 0;
         for (Move m : moves) {
-            if (board.at(m.to.row, m.to.col) != null)
-                return m;
+            if (m.captured == null)
+                continue;
+            int gain = board.see(MoveCodec.encode(m));
+            if (gain > bestGain) {
+                bestGain = gain;
+                best = m;
+            }
         }
+        if (best != null)
+            return best;
 
         return moves.get(random.nextInt(moves.size()));
     }
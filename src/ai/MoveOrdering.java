@@ -0,0 +1,89 @@
+package ai;
+
+import model.*;
+
+/**
+ * Ordenação de lances de uma busca: lance da tabela de transposição, capturas
+ * por MVV-LVA (vítima mais valiosa, atacante menos valioso), killer moves e,
+ * por fim, lances quietos pela tabela de histórico.
+ */
+class MoveOrdering {
+    private static final int HASH_MOVE = 1_000_000;
+    private static final int CAPTURE = 500_000;
+    private static final int KILLER = 400_000;
+    private static final int MAX_HISTORY = 300_000;
+
+    private final int[][] killers;
+    private final int[][] history = new int[2][64 * 64];
+
+    MoveOrdering(int maxPly) {
+        killers = new int[maxPly][2];
+    }
+
+    MoveOrdering copy() {
+        MoveOrdering o = new MoveOrdering(killers.length);
+        for (int i = 0; i < killers.length; i++)
+            o.killers[i] = killers[i].clone();
+        for (int c = 0; c < 2; c++)
+            o.history[c] = history[c].clone();
+        return o;
+    }
+
+    /** Atribui os placares; a busca tira os lances em ordem com MoveList.pickBest. */
+    void score(MoveList moves, int hashMove, int ply, ChessColor side) {
+        for (int i = 0; i < moves.size(); i++)
+            moves.setScore(i, score(moves.get(i), hashMove, ply, side));
+    }
+
+    /** Ordena a lista inteira; usado na raiz, onde todos os lances são buscados. */
+    void sort(MoveList moves, int hashMove, int ply, ChessColor side) {
+        score(moves, hashMove, ply, side);
+        for (int i = 0; i < moves.size(); i++)
+            moves.pickBest(i);
+    }
+
+    private int score(int move, int hashMove, int ply, ChessColor side) {
+        int key = MoveCodec.key(move);
+        if (key == hashMove)
+            return HASH_MOVE;
+        if (MoveCodec.isCapture(move))
+            return CAPTURE + mvvLva(MoveCodec.captured(move), MoveCodec.moved(move));
+        if (MoveCodec.isPromotion(move))
+            return CAPTURE + mvvLva(MoveCodec.promotion(move), PieceType.PAWN);
+        if (ply < killers.length) {
+            if (killers[ply][0] == key)
+                return KILLER + 1;
+            if (killers[ply][1] == key)
+                return KILLER;
+        }
+        return history[side.ordinal()][key & 0xFFF];
+    }
+
+    /** Killer move i (0 ou 1) do ply, como chave de MoveCodec; NONE se não houver. */
+    int killer(int ply, int i) {
+        return ply < killers.length ? killers[ply][i] : MoveCodec.NONE;
+    }
+
+    static int mvvLva(PieceType victim, PieceType attacker) {
+        return (victim.ordinal() + 1) * 10 - attacker.ordinal();
+    }
+
+    /** Registra um lance quieto que causou corte beta. */
+    void recordCutoff(int move, int ply, int depth, ChessColor side) {
+        if (MoveCodec.isCapture(move) || MoveCodec.isPromotion(move))
+            return;
+
+        int key = MoveCodec.key(move);
+        if (ply < killers.length && killers[ply][0] != key) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = key;
+        }
+
+        int[] table = history[side.ordinal()];
+        int i = key & 0xFFF;
+        table[i] += depth * depth;
+        if (table[i] > MAX_HISTORY)
+            for (int k = 0; k < table.length; k++)
+                table[k] >>= 1;
+    }
+}
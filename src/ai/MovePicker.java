@@ -0,0 +1,130 @@
+package ai;
+
+import model.*;
+
+/**
+ * Entrega os lances de um nó em etapas: lance da tabela de transposição,
+ * capturas (e promoções a dama) por MVV-LVA, killer moves, os lances quietos pela
+ * tabela de histórico e, por fim, as capturas que perdem material pela troca
+ * estática (Board.see). Cada etapa só é gerada quando a anterior se
+ * esgota, então um corte no primeiro lance dispensa gerar o resto.
+ *
+ * Os lances são pseudolegais: quem joga o lance verifica se o próprio rei ficou
+ * em cheque.
+ */
+class MovePicker {
+    private static final int HASH = 0;
+    private static final int GENERATE_NOISY = 1;
+    private static final int NOISY = 2;
+    private static final int KILLERS = 3;
+    private static final int GENERATE_QUIETS = 4;
+    private static final int QUIETS = 5;
+    private static final int BAD_CAPTURES = 6;
+    private static final int DONE = 7;
+
+    private final MoveList noisy = new MoveList();
+    private final MoveList quiets = new MoveList();
+    private final MoveList badCaptures = new MoveList();
+    private final int[] killers = new int[2];
+
+    private Board board;
+    private MoveOrdering ordering;
+    private int hashKey;
+    private int ply;
+    private ChessColor side;
+    private boolean noisyOnly;
+    private int stage;
+    private int index;
+
+    /** Prepara o nó; com noisyOnly (quiescência fora de cheque) para depois das capturas. */
+    void init(Board board, MoveOrdering ordering, int hashKey, int ply, boolean noisyOnly) {
+        this.board = board;
+        this.ordering = ordering;
+        this.hashKey = hashKey;
+        this.ply = ply;
+        this.side = board.getSideToMove();
+        this.noisyOnly = noisyOnly;
+        stage = HASH;
+        badCaptures.clear();
+        killers[0] = killers[1] = MoveCodec.NONE;
+    }
+
+    /** Próximo lance pseudolegal, ou MoveCodec.NONE quando não há mais. */
+    int next() {
+        while (true) {
+            switch (stage) {
+                case HASH -> {
+                    stage = GENERATE_NOISY;
+                    if (hashKey != MoveCodec.NONE) {
+                        int move = board.pseudoLegalMove(hashKey);
+                        if (move != MoveCodec.NONE && (!noisyOnly || isNoisy(move)))
+                            return move;
+                    }
+                }
+                case GENERATE_NOISY -> {
+                    board.generateNoisy(noisy);
+                    ordering.score(noisy, hashKey, ply, side);
+                    index = 0;
+                    stage = NOISY;
+                }
+                case NOISY -> {
+                    while (index < noisy.size()) {
+                        int move = noisy.pickBest(index++);
+                        if (MoveCodec.key(move) == hashKey)
+                            continue;
+                        // Capturas que perdem material na troca ficam para depois dos quietos.
+                        if (!noisyOnly && board.see(move) < 0) {
+                            badCaptures.add(move);
+                            continue;
+                        }
+                        return move;
+                    }
+                    stage = noisyOnly ? DONE : KILLERS;
+                    index = 0;
+                }
+                case KILLERS -> {
+                    while (index < 2) {
+                        int key = ordering.killer(ply, index++);
+                        if (key == MoveCodec.NONE || key == hashKey || key == killers[0])
+                            continue;
+                        int move = board.pseudoLegalMove(key);
+                        if (move != MoveCodec.NONE && !isNoisy(move)) {
+                            killers[index - 1] = key;
+                            return move;
+                        }
+                    }
+                    stage = GENERATE_QUIETS;
+                }
+                case GENERATE_QUIETS -> {
+                    board.generateQuiets(quiets);
+                    ordering.score(quiets, hashKey, ply, side);
+                    index = 0;
+                    stage = QUIETS;
+                }
+                case QUIETS -> {
+                    while (index < quiets.size()) {
+                        int move = quiets.pickBest(index++);
+                        int key = MoveCodec.key(move);
+                        if (key != hashKey && key != killers[0] && key != killers[1])
+                            return move;
+                    }
+                    stage = BAD_CAPTURES;
+                    index = 0;
+                }
+                case BAD_CAPTURES -> {
+                    if (index < badCaptures.size())
+                        return badCaptures.get(index++);
+                    stage = DONE;
+                }
+                default -> {
+                    return MoveCodec.NONE;
+                }
+            }
+        }
+    }
+
+    // Lances da etapa de capturas: capturas e promoções a dama.
+    private static boolean isNoisy(int move) {
+        return MoveCodec.isCapture(move) || MoveCodec.promotion(move) == PieceType.QUEEN;
+    }
+}
@@ -0,0 +1,76 @@
+package ai;
+
+import model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mede o ganho da busca paralela do HardAI em relação à busca com uma thread.
+ * Uso: java ai.SearchBenchmark [profundidade] [maxThreads]
+ *
+ * Cada contagem de threads (1, 2, 4, ... até maxThreads) busca as mesmas
+ * posições na mesma profundidade, com tabela de transposição nova, e o tempo
+ * total é comparado com o de uma thread.
+ */
+public class SearchBenchmark {
+    private static final int[] SAMPLE_PLIES = { 0, 8, 16 };
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+
+        List<Board> positions = samplePositions();
+        System.out.printf("profundidade %d, %d posições%n", depth, positions.size());
+        System.out.printf("%8s %10s %12s %10s %8s %s%n", "threads", "tempo(ms)", "nós", "nós/s", "ganho", "lances");
+
+        long baseTime = 0;
+        List<String> baseMoves = null;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            long time = 0, nodes = 0;
+            List<String> moves = new ArrayList<>();
+            for (Board board : positions) {
+                HardAI ai = new HardAI(board.getSideToMove());
+                ai.setTimeLimit(0);
+                ai.setMaxDepth(depth);
+                ai.setThreads(threads);
+
+                long start = System.nanoTime();
+                Move move = ai.chooseMove(board);
+                time += System.nanoTime() - start;
+                nodes += ai.getNodes();
+                moves.add(move == null ? "-" : move.toString());
+            }
+
+            if (threads == 1) {
+                baseTime = time;
+                baseMoves = moves;
+            }
+            System.out.printf("%8d %10d %12d %10d %7.2fx %s%n", threads, time / 1_000_000, nodes,
+                    nodes * 1_000_000_000L / Math.max(1, time), (double) baseTime / time,
+                    moves.equals(baseMoves) ? "iguais" : moves);
+        }
+    }
+
+    // Posições de meio-jogo obtidas por autojogo determinístico a partir da inicial.
+    private static List<Board> samplePositions() {
+        List<Board> positions = new ArrayList<>();
+        Board board = new Board();
+        int ply = 0;
+        for (int target : SAMPLE_PLIES) {
+            while (ply < target) {
+                HardAI ai = new HardAI(board.getSideToMove(), 1);
+                ai.setTimeLimit(0);
+                ai.setMaxDepth(2);
+                Move move = ai.chooseMove(board);
+                if (move == null)
+                    return positions;
+                board.move(move.from, move.to);
+                ply++;
+            }
+            positions.add(board.copy());
+        }
+        return positions;
+    }
+}
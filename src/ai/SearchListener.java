@@ -0,0 +1,18 @@
+package ai;
+
+import model.Move;
+
+import java.util.List;
+
+/**
+ * Recebe o resultado de cada iteração completa do aprofundamento iterativo.
+ * É chamado na thread que executa a busca.
+ */
+public interface SearchListener {
+    /**
+     * @param score placar do ponto de vista de quem joga, na escala da avaliação
+     *              (peão = 10); mates ficam acima de HardAI.MATE_THRESHOLD
+     * @param pv    variante principal, começando pelo melhor lance
+     */
+    void iterationCompleted(int depth, int score, long nodes, long elapsedMillis, List<Move> pv);
+}
@@ -0,0 +1,103 @@
+package ai;
+
+import model.MoveCodec;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de transposição de tamanho fixo. Cada entrada ocupa dois longs (chave
+ * e dados empacotados), então o número de entradas é a maior potência de dois
+ * que cabe no tamanho pedido em MB.
+ *
+ * Substituição: a mesma posição é sempre sobrescrita; uma posição diferente só
+ * substitui a entrada se ela for de uma busca anterior ou tiver profundidade
+ * menor ou igual.
+ *
+ * A tabela é compartilhada entre as threads da busca sem travas: a chave é
+ * gravada combinada (XOR) com os dados, então uma entrada escrita pela metade
+ * por outra thread simplesmente não casa na consulta.
+ */
+public class TranspositionTable {
+    public static final int DEFAULT_SIZE_MB = 16;
+
+    static final int EXACT = 1;
+    static final int LOWER = 2;
+    static final int UPPER = 3;
+
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private int generation;
+
+    public TranspositionTable(int sizeMb) {
+        if (sizeMb <= 0)
+            throw new IllegalArgumentException("sizeMb deve ser positivo: " + sizeMb);
+
+        long entries = Long.highestOneBit(sizeMb * 1024L * 1024L / ENTRY_BYTES);
+        int size = (int) Math.min(entries, 1 << 30);
+        keys = new long[size];
+        data = new long[size];
+        mask = size - 1;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(data, 0);
+        generation = 0;
+    }
+
+    public void newSearch() {
+        generation = (generation + 1) & 0x3F;
+    }
+
+    /** Retorna a entrada empacotada da posição, ou 0 se não houver. */
+    long probe(long hash) {
+        int i = (int) hash & mask;
+        long entry = data[i];
+        return (keys[i] ^ entry) == hash ? entry : 0;
+    }
+
+    void store(long hash, int depth, int score, int bound, int bestMove) {
+        int i = (int) hash & mask;
+        long old = data[i];
+        boolean samePosition = (keys[i] ^ old) == hash;
+        if (!samePosition && old != 0 && generation(old) == generation && depth < depth(old))
+            return;
+
+        int move = bestMove != MoveCodec.NONE ? MoveCodec.key(bestMove) : samePosition ? move(old) : 0;
+        long entry = (score & 0xFFFFFFFFL)
+                | (long) (depth & 0xFF) << 32
+                | (long) bound << 40
+                | (long) move << 42
+                | (long) generation << 58;
+        keys[i] = hash ^ entry;
+        data[i] = entry;
+    }
+
+    static int score(long entry) {
+        return (int) entry;
+    }
+
+    static int depth(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    static int bound(long entry) {
+        return (int) (entry >>> 40) & 0x3;
+    }
+
+    /** Chave (MoveCodec.key) do melhor lance, ou 0. */
+    static int move(long entry) {
+        return (int) (entry >>> 42) & 0xFFFF;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 58) & 0x3F;
+    }
+}
@@ -0,0 +1,104 @@
+package model;
+
+/**
+ * Tabelas de ataque pré-calculadas por casa (índice row * 8 + col). Cavalo, rei
+ * e peão usam máscaras fixas; as peças deslizantes usam raios por direção,
+ * cortados na primeira peça encontrada.
+ */
+public final class Attacks {
+    // Direções em passos de linha/coluna; as quatro primeiras aumentam o índice da casa.
+    private static final int[][] DIRECTIONS = {
+            { 1, 0 }, { 0, 1 }, { 1, 1 }, { 1, -1 },
+            { -1, 0 }, { 0, -1 }, { -1, -1 }, { -1, 1 } };
+    private static final int[] ROOK_DIRECTIONS = { 0, 1, 4, 5 };
+    private static final int[] BISHOP_DIRECTIONS = { 2, 3, 6, 7 };
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];
+    private static final long[][] RAYS = new long[8][64];
+
+    static {
+        int[][] knightSteps = { { -2, -1 }, { -2, 1 }, { -1, -2 }, { -1, 2 }, { 1, -2 }, { 1, 2 }, { 2, -1 }, { 2, 1 } };
+        for (int sq = 0; sq < 64; sq++) {
+            int r = BitboardPosition.row(sq), c = BitboardPosition.col(sq);
+            for (int[] s : knightSteps)
+                KNIGHT[sq] |= bit(r + s[0], c + s[1]);
+            for (int[] d : DIRECTIONS)
+                KING[sq] |= bit(r + d[0], c + d[1]);
+
+            // Brancas avançam para linhas menores; pretas, para maiores.
+            PAWN[ChessColor.WHITE.ordinal()][sq] = bit(r - 1, c - 1) | bit(r - 1, c + 1);
+            PAWN[ChessColor.BLACK.ordinal()][sq] = bit(r + 1, c - 1) | bit(r + 1, c + 1);
+
+            for (int d = 0; d < 8; d++)
+                for (int rr = r + DIRECTIONS[d][0], cc = c + DIRECTIONS[d][1]; inside(rr, cc);
+                        rr += DIRECTIONS[d][0], cc += DIRECTIONS[d][1])
+                    RAYS[d][sq] |= bit(rr, cc);
+        }
+    }
+
+    private Attacks() {
+    }
+
+    private static boolean inside(int r, int c) {
+        return r >= 0 && r < 8 && c >= 0 && c < 8;
+    }
+
+    private static long bit(int r, int c) {
+        return inside(r, c) ? 1L << BitboardPosition.square(r, c) : 0;
+    }
+
+    public static long knight(int square) {
+        return KNIGHT[square];
+    }
+
+    public static long king(int square) {
+        return KING[square];
+    }
+
+    /** Casas atacadas (em diagonal) por um peão da cor dada. */
+    public static long pawn(ChessColor color, int square) {
+        return PAWN[color.ordinal()][square];
+    }
+
+    public static long rook(int square, long occupied) {
+        long attacks = 0;
+        for (int d : ROOK_DIRECTIONS)
+            attacks |= ray(d, square, occupied);
+        return attacks;
+    }
+
+    public static long bishop(int square, long occupied) {
+        long attacks = 0;
+        for (int d : BISHOP_DIRECTIONS)
+            attacks |= ray(d, square, occupied);
+        return attacks;
+    }
+
+    public static long queen(int square, long occupied) {
+        return rook(square, occupied) | bishop(square, occupied);
+    }
+
+    public static long of(PieceType type, ChessColor color, int square, long occupied) {
+        return switch (type) {
+            case PAWN -> pawn(color, square);
+            case KNIGHT -> knight(square);
+            case BISHOP -> bishop(square, occupied);
+            case ROOK -> rook(square, occupied);
+            case QUEEN -> queen(square, occupied);
+            case KING -> king(square);
+        };
+    }
+
+    private static long ray(int direction, int square, long occupied) {
+        long attacks = RAYS[direction][square];
+        long blockers = attacks & occupied;
+        if (blockers != 0) {
+            int first = direction < 4 ? Long.numberOfTrailingZeros(blockers)
+                    : 63 - Long.numberOfLeadingZeros(blockers);
+            attacks ^= RAYS[direction][first];
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,89 @@
+package model;
+
+/**
+ * Posição representada por bitboards: um long por tipo de peça e cor, mais as
+ * máscaras de ocupação. A casa (row, col) corresponde ao bit row * 8 + col.
+ */
+public class BitboardPosition {
+    private final long[] pieces = new long[12];
+    private final long[] occupancy = new long[2];
+    private long occupied;
+
+    public static int square(int row, int col) {
+        return row * 8 + col;
+    }
+
+    public static int row(int square) {
+        return square >>> 3;
+    }
+
+    public static int col(int square) {
+        return square & 7;
+    }
+
+    static int index(PieceType type, ChessColor color) {
+        return color.ordinal() * 6 + type.ordinal();
+    }
+
+    public void add(PieceType type, ChessColor color, int square) {
+        long bit = 1L << square;
+        pieces[index(type, color)] |= bit;
+        occupancy[color.ordinal()] |= bit;
+        occupied |= bit;
+    }
+
+    public void remove(PieceType type, ChessColor color, int square) {
+        long mask = ~(1L << square);
+        pieces[index(type, color)] &= mask;
+        occupancy[color.ordinal()] &= mask;
+        occupied &= mask;
+    }
+
+    public long pieces(PieceType type, ChessColor color) {
+        return pieces[index(type, color)];
+    }
+
+    public long occupancy(ChessColor color) {
+        return occupancy[color.ordinal()];
+    }
+
+    public long occupied() {
+        return occupied;
+    }
+
+    public boolean isOccupied(int square) {
+        return (occupied & (1L << square)) != 0;
+    }
+
+    public int kingSquare(ChessColor color) {
+        long king = pieces(PieceType.KING, color);
+        return king == 0 ? -1 : Long.numberOfTrailingZeros(king);
+    }
+
+    /** Peças da cor dada que atacam a casa, obtidas a partir da própria casa. */
+    public long attackersTo(int square, ChessColor by) {
+        return attackersTo(square, by, occupied);
+    }
+
+    /**
+     * Como attackersTo(square, by), mas com as peças bloqueadoras dadas por
+     * occupied. Peças fora de occupied ainda podem aparecer no resultado.
+     */
+    public long attackersTo(int square, ChessColor by, long occupied) {
+        long bishops = pieces(PieceType.BISHOP, by) | pieces(PieceType.QUEEN, by);
+        long rooks = pieces(PieceType.ROOK, by) | pieces(PieceType.QUEEN, by);
+        return (Attacks.pawn(by.opposite(), square) & pieces(PieceType.PAWN, by))
+                | (Attacks.knight(square) & pieces(PieceType.KNIGHT, by))
+                | (Attacks.king(square) & pieces(PieceType.KING, by))
+                | (Attacks.bishop(square, occupied) & bishops)
+                | (Attacks.rook(square, occupied) & rooks);
+    }
+
+    public BitboardPosition copy() {
+        BitboardPosition b = new BitboardPosition();
+        System.arraycopy(pieces, 0, b.pieces, 0, pieces.length);
+        System.arraycopy(occupancy, 0, b.occupancy, 0, occupancy.length);
+        b.occupied = occupied;
+        return b;
+    }
+}
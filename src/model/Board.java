@@ -1,31 +1,150 @@
 package model;
 
-import javax.swing.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Stack;
 
 public class Board {
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final PieceType[] UNDERPROMOTIONS = { PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT };
+
+    // Tipos de lance pedidos ao gerador.
+    private static final int CAPTURES = 1; // Capturas; promovendo, só a dama
+    private static final int QUEEN_PROMOTIONS = 2; // Promoções a dama sem captura
+    private static final int QUIETS = 4; // Lances sem captura nem promoção, e todas as subpromoções
+    private static final int ALL = CAPTURES | QUEEN_PROMOTIONS | QUIETS;
+
     private Piece[][] board;
-    private Stack<Move> history;
+    private BitboardPosition bits;
+    // Histórico em arrays paralelos: lance codificado, peça movida e peça capturada.
+    private int[] moveHistory = new int[256];
+    private Piece[] movedHistory = new Piece[256];
+    private Piece[] capturedHistory = new Piece[256];
+    private int historySize;
     private ChessColor sideToMove;
+    private long hash;
+    private int[] pieceSquareScore = new int[2];
+    private final int[] seeGain = new int[34]; // Uma entrada por recaptura possível em see()
 
     public Board() {
         board = new Piece[8][8];
-        history = new Stack<>();
+        bits = new BitboardPosition();
         sideToMove = ChessColor.WHITE;
         setup();
     }
 
     private Board(boolean empty) {
         board = new Piece[8][8];
-        history = new Stack<>();
+        bits = new BitboardPosition();
+    }
+
+    /**
+     * Cria o tabuleiro a partir de uma FEN. Só a disposição das peças e o lado a
+     * jogar são lidos: roque e en passant não fazem parte das regras implementadas.
+     */
+    public static Board fromFen(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        String[] rows = fields[0].split("/");
+        if (rows.length != 8)
+            throw new IllegalArgumentException("FEN inválida: " + fen);
+
+        Board b = new Board(true);
+        for (int r = 0; r < 8; r++) {
+            int c = 0;
+            for (char ch : rows[r].toCharArray()) {
+                if (Character.isDigit(ch)) {
+                    c += ch - '0';
+                    continue;
+                }
+                if (c > 7)
+                    throw new IllegalArgumentException("FEN inválida: " + fen);
+                ChessColor color = Character.isUpperCase(ch) ? ChessColor.WHITE : ChessColor.BLACK;
+                PieceType type = switch (Character.toLowerCase(ch)) {
+                    case 'p' -> PieceType.PAWN;
+                    case 'n' -> PieceType.KNIGHT;
+                    case 'b' -> PieceType.BISHOP;
+                    case 'r' -> PieceType.ROOK;
+                    case 'q' -> PieceType.QUEEN;
+                    case 'k' -> PieceType.KING;
+                    default -> throw new IllegalArgumentException("Peça inválida na FEN: " + ch);
+                };
+                b.set(r, c++, Piece.of(type, color));
+            }
+        }
+
+        b.sideToMove = ChessColor.WHITE;
+        if (fields.length > 1 && fields[1].equals("b"))
+            b.switchSide();
+        return b;
+    }
+
+    public String toFen() {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < 8; r++) {
+            int empty = 0;
+            for (int c = 0; c < 8; c++) {
+                Piece p = board[r][c];
+                if (p == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0)
+                    sb.append(empty);
+                empty = 0;
+                sb.append(fenChar(p));
+            }
+            if (empty > 0)
+                sb.append(empty);
+            if (r < 7)
+                sb.append('/');
+        }
+        return sb.append(sideToMove == ChessColor.WHITE ? " w" : " b").append(" - - 0 1").toString();
+    }
+
+    static char fenChar(Piece p) {
+        char c = switch (p.getType()) {
+            case PAWN -> 'p';
+            case KNIGHT -> 'n';
+            case BISHOP -> 'b';
+            case ROOK -> 'r';
+            case QUEEN -> 'q';
+            case KING -> 'k';
+        };
+        return p.getColor() == ChessColor.WHITE ? Character.toUpperCase(c) : c;
     }
 
     public ChessColor getSideToMove() {
         return sideToMove;
     }
 
+    public BitboardPosition getBitboards() {
+        return bits;
+    }
+
+    /** Material mais bônus de casa das peças da cor, mantido a cada lance. */
+    public int getPieceSquareScore(ChessColor color) {
+        return pieceSquareScore[color.ordinal()];
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Recalcula o hash Zobrist do zero; usado para conferir o valor incremental
+     * (os asserts em makeMove/undo rodam com java -ea).
+     */
+    public long computeHash() {
+        long h = sideToMove == ChessColor.BLACK ? Zobrist.SIDE : 0;
+        long occupied = bits.occupied();
+        while (occupied != 0) {
+            int sq = Long.numberOfTrailingZeros(occupied);
+            occupied &= occupied - 1;
+            h ^= Zobrist.piece(board[BitboardPosition.row(sq)][BitboardPosition.col(sq)], sq);
+        }
+        return h;
+    }
+
     public Piece at(int r, int c) {
         if (!isInsideBoard(r, c))
             return null;
@@ -36,7 +155,40 @@ public class Board {
         return r >= 0 && r < 8 && c >= 0 && c < 8;
     }
 
+    private Piece pieceAt(int square) {
+        return board[BitboardPosition.row(square)][BitboardPosition.col(square)];
+    }
+
+    private void set(int r, int c, Piece p) {
+        set(BitboardPosition.square(r, c), p);
+    }
+
+    private void set(int sq, Piece p) {
+        int r = BitboardPosition.row(sq), c = BitboardPosition.col(sq);
+        Piece old = board[r][c];
+        if (old != null) {
+            bits.remove(old.getType(), old.getColor(), sq);
+            hash ^= Zobrist.piece(old, sq);
+            pieceSquareScore[old.getColor().ordinal()] -= PieceSquareTable.score(old.getType(), old.getColor(), sq);
+        }
+        board[r][c] = p;
+        if (p != null) {
+            bits.add(p.getType(), p.getColor(), sq);
+            hash ^= Zobrist.piece(p, sq);
+            pieceSquareScore[p.getColor().ordinal()] += PieceSquareTable.score(p.getType(), p.getColor(), sq);
+        }
+    }
+
+    /** Como move(from, to, promotion), promovendo a dama. */
     public boolean move(Position from, Position to) {
+        return move(from, to, null);
+    }
+
+    /**
+     * Valida e aplica o lance. Se o peão chegar à última fileira, vira a peça
+     * escolhida em promotion (dama se null); nos outros lances o valor é ignorado.
+     */
+    public boolean move(Position from, Position to, PieceType promotion) {
         Piece p = at(from.row, from.col);
         if (p == null || p.getColor() != sideToMove)
             return false;
@@ -45,90 +197,295 @@ public class Board {
         if (!legal.contains(to))
             return false;
 
-        Piece captured = at(to.row, to.col);
-        history.push(new Move(from, to, p, captured));
-
-        board[to.row][to.col] = p;
-        board[from.row][from.col] = null;
+        Move m = new Move(from, to, p, at(to.row, to.col));
+        if (promotion != null && isPromotion(from, to))
+            m.promotion = Piece.of(promotion, p.getColor());
+        makeMove(m);
 
         if (inCheck(p.getColor())) {
-            board[from.row][from.col] = p;
-            board[to.row][to.col] = captured;
-            history.pop();
+            undo();
             return false;
         }
+        return true;
+    }
 
-        promotePawn(to);
+    /** Se o lance de from para to leva um peão à última fileira. */
+    public boolean isPromotion(Position from, Position to) {
+        Piece p = at(from.row, from.col);
+        return p != null && p.getType() == PieceType.PAWN && (to.row == 0 || to.row == 7);
+    }
 
-        sideToMove = (sideToMove == ChessColor.WHITE) ? ChessColor.BLACK : ChessColor.WHITE;
-        return true;
+    /**
+     * Aplica o lance sem validá-lo e sem copiar o tabuleiro. O lance deve ter
+     * sido gerado para esta posição (ex.: por getAllLegalMoves); undo() restaura
+     * o estado anterior. Sem promoção escolhida, o peão vira dama.
+     */
+    public void makeMove(Move m) {
+        makeMove(MoveCodec.encode(m));
+    }
+
+    /** Como makeMove(Move), para lances codificados por MoveCodec; não aloca. */
+    public void makeMove(int move) {
+        int from = MoveCodec.from(move), to = MoveCodec.to(move);
+        Piece moved = pieceAt(from);
+        pushHistory(move, moved, pieceAt(to));
+
+        PieceType promotion = MoveCodec.promotion(move);
+        set(to, promotion == null ? moved : Piece.of(promotion, moved.getColor()));
+        set(from, null);
+        switchSide();
+        assert hash == computeHash() : "hash incremental divergiu";
+    }
+
+    private void pushHistory(int move, Piece moved, Piece captured) {
+        if (historySize == moveHistory.length) {
+            int size = historySize * 2;
+            moveHistory = Arrays.copyOf(moveHistory, size);
+            movedHistory = Arrays.copyOf(movedHistory, size);
+            capturedHistory = Arrays.copyOf(capturedHistory, size);
+        }
+        moveHistory[historySize] = move;
+        movedHistory[historySize] = moved;
+        capturedHistory[historySize] = captured;
+        historySize++;
+    }
+
+    /**
+     * Passa a vez sem mover peça (lance nulo, usado na poda da busca). Não entra
+     * no histórico: desfaça com undoNullMove, antes de qualquer undo.
+     */
+    public void makeNullMove() {
+        switchSide();
+    }
+
+    public void undoNullMove() {
+        switchSide();
+    }
+
+    private void switchSide() {
+        sideToMove = sideToMove.opposite();
+        hash ^= Zobrist.SIDE;
     }
 
     public boolean undo() {
-        if (history.isEmpty())
+        if (historySize == 0)
             return false;
 
-        Move last = history.pop();
-        board[last.from.row][last.from.col] = last.moved;
-        board[last.to.row][last.to.col] = last.captured;
-        sideToMove = (sideToMove == ChessColor.WHITE) ? ChessColor.BLACK : ChessColor.WHITE;
+        historySize--;
+        int move = moveHistory[historySize];
+        set(MoveCodec.from(move), movedHistory[historySize]);
+        set(MoveCodec.to(move), capturedHistory[historySize]);
+        movedHistory[historySize] = null;
+        capturedHistory[historySize] = null;
+        switchSide();
+        assert hash == computeHash() : "hash incremental divergiu";
         return true;
     }
 
     public Board copy() {
         Board b = new Board(true);
         for (int r = 0; r < 8; r++)
-            for (int c = 0; c < 8; c++)
-                if (board[r][c] != null)
-                    b.board[r][c] = board[r][c].clone();
+            b.board[r] = board[r].clone();
 
+        b.bits = bits.copy();
         b.sideToMove = sideToMove;
+        b.hash = hash;
+        b.pieceSquareScore = pieceSquareScore.clone();
         return b;
     }
 
+    // A casa do rei vem do bitboard do rei, mantido a cada lance e desfazer.
     public boolean inCheck(ChessColor color) {
-        Position kingPos = findKing(color);
-        if (kingPos == null)
-            return false;
+        int king = bits.kingSquare(color);
+        return king >= 0 && isSquareAttacked(king, color.opposite());
+    }
 
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                Piece enemy = at(r, c);
-                if (enemy != null && enemy.getColor() != color) {
-                    if (enemy.legalTargets(this, new Position(r, c)).contains(kingPos))
-                        return true;
+    public boolean isSquareAttacked(int square, ChessColor by) {
+        return bits.attackersTo(square, by) != 0;
+    }
+
+    public Position findKing(ChessColor color) {
+        int sq = bits.kingSquare(color);
+        if (sq < 0)
+            return null;
+        return Position.of(sq);
+    }
+
+    public List<Move> getAllLegalMoves(ChessColor color) {
+        return toMoves(color, false);
+    }
+
+    public List<Move> getAllLegalCaptures(ChessColor color) {
+        return toMoves(color, true);
+    }
+
+    private List<Move> toMoves(ChessColor color, boolean capturesOnly) {
+        MoveList list = new MoveList();
+        generate(color, list, capturesOnly ? CAPTURES : ALL, true);
+        List<Move> moves = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++)
+            moves.add(toMove(list.get(i)));
+        return moves;
+    }
+
+    /** Preenche a lista com os lances legais do lado a jogar, sem alocar. */
+    public void generateLegalMoves(MoveList list) {
+        list.clear();
+        generate(sideToMove, list, ALL, true);
+    }
+
+    /** Só as capturas legais; um peão que promove capturando vira dama. */
+    public void generateLegalCaptures(MoveList list) {
+        list.clear();
+        generate(sideToMove, list, CAPTURES, true);
+    }
+
+    /**
+     * Capturas e promoções a dama do lado a jogar, sem verificar se o rei fica em
+     * cheque. Junto com generateQuiets cobre cada lance uma única vez, para a busca
+     * gerar em etapas e testar a legalidade só dos lances que chegar a jogar.
+     */
+    public void generateNoisy(MoveList list) {
+        list.clear();
+        generate(sideToMove, list, CAPTURES | QUEEN_PROMOTIONS, false);
+    }
+
+    /** Os lances que generateNoisy não gera: quietos e subpromoções. Também pseudolegais. */
+    public void generateQuiets(MoveList list) {
+        list.clear();
+        generate(sideToMove, list, QUIETS, false);
+    }
+
+    private void generate(ChessColor color, MoveList list, int kinds, boolean legalOnly) {
+        long own = bits.occupancy(color);
+        long enemy = bits.occupancy(color.opposite());
+        int promotionRow = color == ChessColor.WHITE ? 1 : 6;
+        while (own != 0) {
+            int from = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            Piece p = pieceAt(from);
+            PieceType type = p.getType();
+            boolean promotes = type == PieceType.PAWN && BitboardPosition.row(from) == promotionRow;
+
+            long targets = p.targets(this, from);
+            if ((kinds & QUIETS) == 0 && !(promotes && (kinds & QUEEN_PROMOTIONS) != 0))
+                targets &= enemy;
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                Piece captured = pieceAt(to);
+                PieceType capturedType = captured == null ? null : captured.getType();
+                int move = MoveCodec.encode(from, to, type, capturedType, promotes ? PieceType.QUEEN : null);
+
+                // A peça escolhida na promoção não muda a legalidade, testada uma vez só.
+                if (legalOnly) {
+                    makeMove(move);
+                    boolean legal = !inCheck(color);
+                    undo();
+                    if (!legal)
+                        continue;
                 }
+
+                int kind = promotes ? (captured != null ? CAPTURES : QUEEN_PROMOTIONS)
+                        : (captured != null ? CAPTURES : QUIETS);
+                if ((kinds & kind) != 0)
+                    list.add(move);
+                if (promotes && (kinds & QUIETS) != 0)
+                    for (PieceType promotion : UNDERPROMOTIONS)
+                        list.add(MoveCodec.encode(from, to, type, capturedType, promotion));
             }
         }
-        return false;
     }
 
-    public Position findKing(ChessColor color) {
-        for (int r = 0; r < 8; r++)
-            for (int c = 0; c < 8; c++) {
-                Piece p = board[r][c];
-                if (p instanceof King && p.getColor() == color)
-                    return new Position(r, c);
-            }
-        return null;
+    /**
+     * Lance completo correspondente à chave (origem, destino e promoção), se ela
+     * descrever um lance pseudolegal do lado a jogar; senão MoveCodec.NONE. Serve
+     * para validar lances vindos da tabela de transposição e killer moves.
+     */
+    public int pseudoLegalMove(int key) {
+        int from = MoveCodec.from(key), to = MoveCodec.to(key);
+        Piece p = pieceAt(from);
+        if (p == null || p.getColor() != sideToMove || (p.targets(this, from) & 1L << to) == 0)
+            return MoveCodec.NONE;
+
+        PieceType promotion = MoveCodec.promotion(key);
+        boolean promotes = p.getType() == PieceType.PAWN
+                && (BitboardPosition.row(to) == 0 || BitboardPosition.row(to) == 7);
+        if (promotes ? promotion == null || promotion == PieceType.PAWN || promotion == PieceType.KING
+                : promotion != null)
+            return MoveCodec.NONE;
+
+        Piece captured = pieceAt(to);
+        return MoveCodec.encode(from, to, p.getType(), captured == null ? null : captured.getType(), promotion);
     }
 
-    public List<Move> getAllLegalMoves(ChessColor color) {
-        List<Move> moves = new ArrayList<>();
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                Piece p = at(r, c);
-                if (p != null && p.getColor() == color) {
-                    for (Position to : p.legalTargets(this, new Position(r, c))) {
-                        Board copy = copy();
-                        if (copy.move(new Position(r, c), to) && !copy.inCheck(color)) {
-                            moves.add(new Move(new Position(r, c), to, p, at(to.row, to.col)));
-                        }
-                    }
+    /**
+     * Troca estática (SEE): saldo material do lance, na escala de
+     * PieceSquareTable.value, supondo que os dois lados recapturam na casa de
+     * destino sempre com a peça de menor valor e param quando não compensa mais.
+     * Peças cravadas e promoções nas recapturas não são consideradas.
+     */
+    public int see(int move) {
+        int from = MoveCodec.from(move), to = MoveCodec.to(move);
+        PieceType captured = MoveCodec.captured(move);
+        PieceType promotion = MoveCodec.promotion(move);
+        ChessColor side = pieceAt(from).getColor();
+
+        int[] gain = seeGain;
+        int d = 0;
+        gain[0] = captured == null ? 0 : PieceSquareTable.value(captured);
+        PieceType onSquare = MoveCodec.moved(move);
+        if (promotion != null) {
+            gain[0] += PieceSquareTable.value(promotion) - PieceSquareTable.value(PieceType.PAWN);
+            onSquare = promotion;
+        }
+
+        long occupied = bits.occupied() ^ 1L << from;
+        while (true) {
+            d++;
+            side = side.opposite();
+            // Ganho de side se recapturar, antes de saber se o outro lado responde.
+            gain[d] = PieceSquareTable.value(onSquare) - gain[d - 1];
+            if (Math.max(-gain[d - 1], gain[d]) < 0)
+                break;
+
+            long attackers = (bits.attackersTo(to, ChessColor.WHITE, occupied)
+                    | bits.attackersTo(to, ChessColor.BLACK, occupied)) & occupied;
+            long own = attackers & bits.occupancy(side);
+            if (own == 0)
+                break;
+
+            PieceType next = null;
+            long piece = 0;
+            for (PieceType type : TYPES) {
+                piece = own & bits.pieces(type, side);
+                if (piece != 0) {
+                    next = type;
+                    break;
                 }
             }
+            // O rei só recaptura se a casa não estiver mais defendida.
+            if (next == PieceType.KING && (attackers & bits.occupancy(side.opposite())) != 0)
+                break;
+
+            occupied ^= Long.lowestOneBit(piece);
+            onSquare = next;
         }
-        return moves;
+
+        while (--d > 0)
+            gain[d - 1] = -Math.max(-gain[d - 1], gain[d]);
+        return gain[0];
+    }
+
+    /** Visão de objeto de um lance codificado, montada a partir desta posição. */
+    public Move toMove(int move) {
+        int from = MoveCodec.from(move), to = MoveCodec.to(move);
+        Piece moved = pieceAt(from);
+        Move m = new Move(Position.of(from), Position.of(to), moved, pieceAt(to));
+        PieceType promotion = MoveCodec.promotion(move);
+        if (promotion != null)
+            m.promotion = Piece.of(promotion, moved.getColor());
+        return m;
     }
 
     public boolean isCheckmate(ChessColor color) {
@@ -137,59 +494,31 @@ public class Board {
         return getAllLegalMoves(color).isEmpty();
     }
 
-    private void promotePawn(Position pos) {
-        Piece p = at(pos.row, pos.col);
-        if (!(p instanceof Pawn))
-            return;
-
-        if ((p.getColor() == ChessColor.WHITE && pos.row == 0) ||
-                (p.getColor() == ChessColor.BLACK && pos.row == 7)) {
-            String[] options = { "Queen", "Rook", "Bishop", "Knight" };
-            int choice = JOptionPane.showOptionDialog(
-                    null,
-                    "Escolha a peça para promoção:",
-                    "Promoção de Peão",
-                    JOptionPane.DEFAULT_OPTION,
-                    JOptionPane.PLAIN_MESSAGE,
-                    null,
-                    options,
-                    options[0]);
-
-            board[pos.row][pos.col] = switch (choice) {
-                case 0 -> new Queen(p.getColor());
-                case 1 -> new Rook(p.getColor());
-                case 2 -> new Bishop(p.getColor());
-                case 3 -> new Knight(p.getColor());
-                default -> new Queen(p.getColor());
-            };
-        }
-    }
-
     public void setup() {
-        board[0][0] = new Rook(ChessColor.BLACK);
-        board[0][7] = new Rook(ChessColor.BLACK);
-        board[7][0] = new Rook(ChessColor.WHITE);
-        board[7][7] = new Rook(ChessColor.WHITE);
+        set(0, 0, Piece.of(PieceType.ROOK, ChessColor.BLACK));
+        set(0, 7, Piece.of(PieceType.ROOK, ChessColor.BLACK));
+        set(7, 0, Piece.of(PieceType.ROOK, ChessColor.WHITE));
+        set(7, 7, Piece.of(PieceType.ROOK, ChessColor.WHITE));
 
-        board[0][1] = new Knight(ChessColor.BLACK);
-        board[0][6] = new Knight(ChessColor.BLACK);
-        board[7][1] = new Knight(ChessColor.WHITE);
-        board[7][6] = new Knight(ChessColor.WHITE);
+        set(0, 1, Piece.of(PieceType.KNIGHT, ChessColor.BLACK));
+        set(0, 6, Piece.of(PieceType.KNIGHT, ChessColor.BLACK));
+        set(7, 1, Piece.of(PieceType.KNIGHT, ChessColor.WHITE));
+        set(7, 6, Piece.of(PieceType.KNIGHT, ChessColor.WHITE));
 
-        board[0][2] = new Bishop(ChessColor.BLACK);
-        board[0][5] = new Bishop(ChessColor.BLACK);
-        board[7][2] = new Bishop(ChessColor.WHITE);
-        board[7][5] = new Bishop(ChessColor.WHITE);
+        set(0, 2, Piece.of(PieceType.BISHOP, ChessColor.BLACK));
+        set(0, 5, Piece.of(PieceType.BISHOP, ChessColor.BLACK));
+        set(7, 2, Piece.of(PieceType.BISHOP, ChessColor.WHITE));
+        set(7, 5, Piece.of(PieceType.BISHOP, ChessColor.WHITE));
 
-        board[0][3] = new Queen(ChessColor.BLACK);
-        board[7][3] = new Queen(ChessColor.WHITE);
+        set(0, 3, Piece.of(PieceType.QUEEN, ChessColor.BLACK));
+        set(7, 3, Piece.of(PieceType.QUEEN, ChessColor.WHITE));
 
-        board[0][4] = new King(ChessColor.BLACK);
-        board[7][4] = new King(ChessColor.WHITE);
+        set(0, 4, Piece.of(PieceType.KING, ChessColor.BLACK));
+        set(7, 4, Piece.of(PieceType.KING, ChessColor.WHITE));
 
         for (int i = 0; i < 8; i++) {
-            board[1][i] = new Pawn(ChessColor.BLACK);
-            board[6][i] = new Pawn(ChessColor.WHITE);
+            set(1, i, Piece.of(PieceType.PAWN, ChessColor.BLACK));
+            set(6, i, Piece.of(PieceType.PAWN, ChessColor.WHITE));
         }
     }
 }
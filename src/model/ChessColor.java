@@ -1,5 +1,9 @@
 package model;
 
 public enum ChessColor {
-    WHITE, BLACK
+    WHITE, BLACK;
+
+    public ChessColor opposite() {
+        return this == WHITE ? BLACK : WHITE;
+    }
 }
@@ -5,6 +5,7 @@ public class Move {
     public Position to;
     public Piece moved;
     public Piece captured;
+    public Piece promotion;
 
     public Move(Position from, Position to, Piece moved, Piece captured) {
         this.from = from;
@@ -12,4 +13,13 @@ public class Move {
         this.moved = moved;
         this.captured = captured;
     }
+
+    // Notação de coordenadas, ex.: "e2e4" ou "e7e8q".
+    @Override
+    public String toString() {
+        String s = from.toString() + to;
+        if (promotion != null)
+            s += Character.toLowerCase(Board.fenChar(promotion));
+        return s;
+    }
 }
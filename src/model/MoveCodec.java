@@ -0,0 +1,90 @@
+package model;
+
+/**
+ * Lance codificado em um int, para a busca gerar e aplicar lances sem alocar:
+ *
+ *   bits  0-5   casa de origem (row * 8 + col)
+ *   bits  6-11  casa de destino
+ *   bits 12-14  peça da promoção (PieceType + 1; 0 = sem promoção)
+ *   bits 15-17  peça movida (PieceType)
+ *   bits 18-20  peça capturada (PieceType + 1; 0 = sem captura)
+ *
+ * Os 15 bits baixos (key) identificam o lance na posição e cabem na tabela de
+ * transposição. Nenhum lance válido vale 0, que serve como "sem lance".
+ */
+public final class MoveCodec {
+    public static final int NONE = 0;
+    public static final int KEY_MASK = 0x7FFF;
+
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private MoveCodec() {
+    }
+
+    public static int encode(int from, int to, PieceType moved, PieceType captured, PieceType promotion) {
+        return from
+                | to << 6
+                | (promotion == null ? 0 : promotion.ordinal() + 1) << 12
+                | moved.ordinal() << 15
+                | (captured == null ? 0 : captured.ordinal() + 1) << 18;
+    }
+
+    /** Codifica um Move; peão que chega à última fileira sem escolha vira dama. */
+    public static int encode(Move m) {
+        PieceType promotion = null;
+        if (m.promotion != null)
+            promotion = m.promotion.getType();
+        else if (m.moved.getType() == PieceType.PAWN && (m.to.row == 0 || m.to.row == 7))
+            promotion = PieceType.QUEEN;
+        return encode(BitboardPosition.square(m.from.row, m.from.col), BitboardPosition.square(m.to.row, m.to.col),
+                m.moved.getType(), m.captured == null ? null : m.captured.getType(), promotion);
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int key(int move) {
+        return move & KEY_MASK;
+    }
+
+    public static PieceType moved(int move) {
+        return TYPES[(move >>> 15) & 0x7];
+    }
+
+    /** Peça capturada, ou null. */
+    public static PieceType captured(int move) {
+        int t = (move >>> 18) & 0x7;
+        return t == 0 ? null : TYPES[t - 1];
+    }
+
+    /** Peça escolhida na promoção, ou null. */
+    public static PieceType promotion(int move) {
+        int t = (move >>> 12) & 0x7;
+        return t == 0 ? null : TYPES[t - 1];
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & (0x7 << 18)) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move & (0x7 << 12)) != 0;
+    }
+
+    public static String toString(int move) {
+        String s = square(from(move)) + square(to(move));
+        PieceType promotion = promotion(move);
+        if (promotion != null)
+            s += "nbrq".charAt(promotion.ordinal() - 1);
+        return s;
+    }
+
+    private static String square(int sq) {
+        return "" + (char) ('a' + BitboardPosition.col(sq)) + (8 - BitboardPosition.row(sq));
+    }
+}
@@ -0,0 +1,81 @@
+package model;
+
+/**
+ * Lista de lances codificados (MoveCodec) com capacidade fixa, feita para ser
+ * alocada uma vez por ply e reaproveitada. Cada lance tem um placar usado pela
+ * ordenação da busca.
+ */
+public class MoveList {
+    // Nenhuma posição legal tem mais de 218 lances.
+    public static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private final int[] scores = new int[CAPACITY];
+    private int size;
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int i) {
+        return moves[i];
+    }
+
+    public void setScore(int i, int score) {
+        scores[i] = score;
+    }
+
+    public int getScore(int i) {
+        return scores[i];
+    }
+
+    /**
+     * Traz para a posição i o lance de maior placar entre i e o fim da lista. A
+     * ordenação é feita sob demanda, já que a maioria dos nós corta cedo.
+     */
+    public int pickBest(int i) {
+        int best = i;
+        for (int j = i + 1; j < size; j++)
+            if (scores[j] > scores[best])
+                best = j;
+        if (best != i)
+            swap(i, best);
+        return moves[i];
+    }
+
+    /** Move o lance para o início da lista, mantendo a ordem dos demais. */
+    public boolean moveToFront(int key) {
+        for (int i = 0; i < size; i++) {
+            if (MoveCodec.key(moves[i]) == key) {
+                int move = moves[i], score = scores[i];
+                System.arraycopy(moves, 0, moves, 1, i);
+                System.arraycopy(scores, 0, scores, 1, i);
+                moves[0] = move;
+                scores[0] = score;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void swap(int i, int j) {
+        int m = moves[i];
+        moves[i] = moves[j];
+        moves[j] = m;
+        int s = scores[i];
+        scores[i] = scores[j];
+        scores[j] = s;
+    }
+}
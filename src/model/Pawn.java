@@ -1,5 +1,4 @@
 package model;
-import java.util.*;
 
 public class Pawn extends Piece {
     public Pawn(ChessColor color) {
@@ -7,36 +6,24 @@ public class Pawn extends Piece {
     }
 
     @Override
-    public List<Position> legalTargets(Board board, Position from) {
-        List<Position> moves = new ArrayList<>();
-        int dir = color == ChessColor.WHITE ? -1 : 1;
-        int startRow = color == ChessColor.WHITE ? 6 : 1;
+    public PieceType getType() {
+        return PieceType.PAWN;
+    }
 
-        int r = from.row + dir;
-        if (r >= 0 && r < 8 && board.at(r, from.col) == null) {
-            moves.add(new Position(r, from.col));
+    @Override
+    public long targets(Board board, int square) {
+        BitboardPosition bits = board.getBitboards();
+        long moves = Attacks.pawn(color, square) & bits.occupancy(color.opposite());
 
-            if (from.row == startRow && board.at(r + dir, from.col) == null) {
-                moves.add(new Position(r + dir, from.col));
-            }
-        }
+        int dir = color == ChessColor.WHITE ? -8 : 8;
+        int startRow = color == ChessColor.WHITE ? 6 : 1;
+        int one = square + dir;
+        if (one >= 0 && one < 64 && !bits.isOccupied(one)) {
+            moves |= 1L << one;
 
-        if (from.col > 0) {
-            Piece p = board.at(r, from.col - 1);
-            if (p != null && p.color != color)
-                moves.add(new Position(r, from.col - 1));
+            if (BitboardPosition.row(square) == startRow && !bits.isOccupied(one + dir))
+                moves |= 1L << (one + dir);
         }
-        if (from.col < 7) {
-            Piece p = board.at(r, from.col + 1);
-            if (p != null && p.color != color)
-                moves.add(new Position(r, from.col + 1));
-        }
-
         return moves;
     }
-
-    @Override
-    public Piece clone() {
-        return new Pawn(this.color);
-    }
 }
@@ -0,0 +1,128 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Perft: conta as folhas da árvore de lances legais até uma profundidade, para
+ * validar e medir o gerador de lances (generateLegalMoves + makeMove/undo).
+ *
+ * Uso:
+ *   java model.Perft suite [profundidadeMáxima]  - posições de referência
+ *   java model.Perft profundidade [FEN]          - contagem por lance (divide)
+ */
+public class Perft {
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1";
+
+    // Contagens publicadas (FEN, profundidade, nós), restritas a posições e
+    // profundidades em que roque e en passant não aparecem na árvore.
+    private static final Object[][] SUITE = {
+            { START_FEN, 1, 20L },
+            { START_FEN, 2, 400L },
+            { START_FEN, 3, 8902L },
+            { START_FEN, 4, 197281L },
+            { "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 1, 14L },
+            { "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 2, 191L },
+            { "8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1", 4, 23527L },
+            // Promoções, incluindo subpromoções.
+            { "K1k5/8/P7/8/8/8/8/8 w - - 0 1", 6, 2217L },
+            { "8/P1k5/K7/8/8/8/8/8 w - - 0 1", 6, 92683L },
+            { "4k3/1P6/8/8/8/8/K7/8 w - - 0 1", 6, 217342L },
+            { "8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1", 5, 1004658L },
+            { "2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1", 6, 3821001L },
+    };
+
+    public static long perft(Board board, int depth) {
+        return perft(board, depth, newLists(depth));
+    }
+
+    private static MoveList[] newLists(int depth) {
+        MoveList[] lists = new MoveList[Math.max(1, depth)];
+        for (int i = 0; i < lists.length; i++)
+            lists[i] = new MoveList();
+        return lists;
+    }
+
+    private static long perft(Board board, int depth, MoveList[] lists) {
+        if (depth <= 0)
+            return 1;
+
+        MoveList moves = lists[depth - 1];
+        board.generateLegalMoves(moves);
+        if (depth == 1)
+            return moves.size();
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            nodes += perft(board, depth - 1, lists);
+            board.undo();
+        }
+        return nodes;
+    }
+
+    public static long divide(Board board, int depth) {
+        MoveList[] lists = newLists(depth);
+        MoveList moves = new MoveList();
+        board.generateLegalMoves(moves);
+
+        long total = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            long nodes = perft(board, depth - 1, lists);
+            board.undo();
+            System.out.println(MoveCodec.toString(moves.get(i)) + ": " + nodes);
+            total += nodes;
+        }
+        return total;
+    }
+
+    /** Roda as posições de referência; retorna falso se alguma contagem divergir. */
+    public static boolean runSuite(int maxDepth) {
+        boolean ok = true;
+        long totalNodes = 0, totalTime = 0;
+        for (Object[] entry : SUITE) {
+            String fen = (String) entry[0];
+            int depth = (Integer) entry[1];
+            long expected = (Long) entry[2];
+            if (depth > maxDepth)
+                continue;
+
+            Board board = Board.fromFen(fen);
+            long start = System.nanoTime();
+            long nodes = perft(board, depth);
+            long time = System.nanoTime() - start;
+            totalNodes += nodes;
+            totalTime += time;
+
+            boolean match = nodes == expected;
+            ok &= match;
+            System.out.printf("%s  profundidade %d: %,d (esperado %,d) %s  %,d nós/s%n", fen, depth, nodes,
+                    expected, match ? "ok" : "ERRO", nodesPerSecond(nodes, time));
+        }
+        System.out.printf("total: %,d nós em %d ms, %,d nós/s%n", totalNodes, totalTime / 1_000_000,
+                nodesPerSecond(totalNodes, totalTime));
+        return ok;
+    }
+
+    private static long nodesPerSecond(long nodes, long nanos) {
+        return nodes * 1_000_000_000L / Math.max(1, nanos);
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0 || args[0].equals("suite")) {
+            int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE;
+            if (!runSuite(maxDepth))
+                System.exit(1);
+            return;
+        }
+
+        int depth = Integer.parseInt(args[0]);
+        String fen = args.length > 1 ? String.join(" ", Arrays.copyOfRange(args, 1, args.length))
+                : START_FEN;
+        Board board = Board.fromFen(fen);
+        long start = System.nanoTime();
+        long nodes = divide(board, depth);
+        long time = System.nanoTime() - start;
+        System.out.printf("%nnós: %,d em %d ms, %,d nós/s%n", nodes, time / 1_000_000, nodesPerSecond(nodes, time));
+    }
+}
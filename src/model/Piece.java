@@ -1,26 +1,53 @@
 package model;
 
+import java.util.ArrayList;
 import java.util.List;
 
-public abstract class Piece implements Cloneable {
-    protected ChessColor color;
+/**
+ * Peça de xadrez. Peças não têm estado além da cor, então o tabuleiro usa as
+ * instâncias compartilhadas de of() em vez de criar e clonar peças.
+ */
+public abstract class Piece {
+    protected final ChessColor color;
 
     public Piece(ChessColor color) {
         this.color = color;
     }
 
+    public static Piece of(PieceType type, ChessColor color) {
+        return Shared.PIECES[color.ordinal()][type.ordinal()];
+    }
+
+    private static final class Shared {
+        static final Piece[][] PIECES = new Piece[2][];
+
+        static {
+            for (ChessColor c : ChessColor.values())
+                PIECES[c.ordinal()] = new Piece[] {
+                        new Pawn(c), new Knight(c), new Bishop(c), new Rook(c), new Queen(c), new King(c) };
+        }
+    }
+
     public ChessColor getColor() {
         return color;
     }
 
-    public abstract List<Position> legalTargets(Board board, Position pos);
+    public abstract PieceType getType();
+
+    /**
+     * Casas para onde a peça pode ir a partir da casa dada (índice row * 8 + col),
+     * sem verificar se o próprio rei fica em cheque.
+     */
+    public abstract long targets(Board board, int square);
 
-    @Override
-    public Piece clone() {
-        try {
-            return (Piece) super.clone();
-        } catch (CloneNotSupportedException e) {
-            return null;
+    public List<Position> legalTargets(Board board, Position pos) {
+        long targets = targets(board, BitboardPosition.square(pos.row, pos.col));
+        List<Position> moves = new ArrayList<>(Long.bitCount(targets));
+        while (targets != 0) {
+            int sq = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves.add(Position.of(sq));
         }
+        return moves;
     }
 }
@@ -0,0 +1,35 @@
+package model;
+
+/**
+ * Valores de material e bônus por casa usados na avaliação. As tabelas estão do
+ * ponto de vista das brancas (linha 0 = oitava fileira); para as pretas a linha
+ * é espelhada. O Board mantém a soma incrementalmente.
+ */
+public final class PieceSquareTable {
+    private static final int[] VALUES = { 10, 30, 30, 50, 90, 900 };
+    private static final int CENTER_BONUS = 5;
+
+    private static final int[][] TABLES = new int[6][64];
+
+    static {
+        for (PieceType type : PieceType.values())
+            for (int sq = 0; sq < 64; sq++) {
+                int r = BitboardPosition.row(sq), c = BitboardPosition.col(sq);
+                if (r >= 2 && r <= 5 && c >= 2 && c <= 5)
+                    TABLES[type.ordinal()][sq] = CENTER_BONUS;
+            }
+    }
+
+    private PieceSquareTable() {
+    }
+
+    public static int value(PieceType type) {
+        return VALUES[type.ordinal()];
+    }
+
+    /** Material mais o bônus da casa para uma peça da cor dada. */
+    public static int score(PieceType type, ChessColor color, int square) {
+        int sq = color == ChessColor.WHITE ? square : square ^ 56;
+        return VALUES[type.ordinal()] + TABLES[type.ordinal()][sq];
+    }
+}
@@ -0,0 +1,5 @@
+package model;
+
+public enum PieceType {
+    PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING
+}
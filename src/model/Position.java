@@ -1,14 +1,34 @@
 package model;
 
-public class Position {
-    public int row;
-    public int col;
+/**
+ * Casa do tabuleiro. Imutável e compartilhada: as 64 instâncias são criadas uma
+ * vez e obtidas por of(), então comparar com equals ou == dá o mesmo resultado.
+ */
+public final class Position {
+    private static final Position[] SQUARES = new Position[64];
 
-    public Position(int row, int col) {
+    static {
+        for (int sq = 0; sq < 64; sq++)
+            SQUARES[sq] = new Position(sq >>> 3, sq & 7);
+    }
+
+    public final int row;
+    public final int col;
+
+    private Position(int row, int col) {
         this.row = row;
         this.col = col;
     }
 
+    public static Position of(int row, int col) {
+        return SQUARES[row * 8 + col];
+    }
+
+    /** Casa pelo índice row * 8 + col usado nos bitboards. */
+    public static Position of(int square) {
+        return SQUARES[square];
+    }
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof Position))
@@ -21,4 +41,10 @@ public class Position {
     public int hashCode() {
         return row * 31 + col;
     }
+
+    // Notação algébrica da casa, ex.: "e4" (linha 0 é a oitava fileira).
+    @Override
+    public String toString() {
+        return "" + (char) ('a' + col) + (8 - row);
+    }
 }
@@ -1,5 +1,4 @@
 package model;
-import java.util.*;
 
 public class Queen extends Piece {
     public Queen(ChessColor color) {
@@ -7,15 +6,13 @@ public class Queen extends Piece {
     }
 
     @Override
-    public List<Position> legalTargets(Board board, Position from) {
-        List<Position> moves = new ArrayList<>();
-        moves.addAll(new Rook(color).legalTargets(board, from));
-        moves.addAll(new Bishop(color).legalTargets(board, from));
-        return moves;
+    public PieceType getType() {
+        return PieceType.QUEEN;
     }
 
     @Override
-    public Piece clone() {
-        return new Queen(this.color);
+    public long targets(Board board, int square) {
+        BitboardPosition bits = board.getBitboards();
+        return Attacks.queen(square, bits.occupied()) & ~bits.occupancy(color);
     }
 }
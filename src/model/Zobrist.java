@@ -0,0 +1,27 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Chaves Zobrist fixas (semente constante) para peça/casa e lado a jogar.
+ * Roque e en passant ainda não existem nas regras, então não têm chaves.
+ */
+final class Zobrist {
+    private static final long[][] PIECES = new long[12][64];
+    static final long SIDE;
+
+    static {
+        Random random = new Random(0x5DEECE66DL);
+        for (long[] keys : PIECES)
+            for (int sq = 0; sq < 64; sq++)
+                keys[sq] = random.nextLong();
+        SIDE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    static long piece(Piece p, int square) {
+        return PIECES[BitboardPosition.index(p.getType(), p.getColor())][square];
+    }
+}
@@ -0,0 +1,202 @@
+package ui;
+
+import model.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+/**
+ * Tabuleiro desenhado num único componente. Guarda o que está na tela e, a cada
+ * atualização, só repinta as casas cujo conteúdo ou destaque mudou.
+ */
+public class BoardPanel extends JPanel {
+    public interface SquareListener {
+        void squareClicked(int row, int col);
+    }
+
+    private static final Color LIGHT = new Color(240, 217, 181);
+    private static final Color DARK = new Color(181, 136, 99);
+    private static final Color SELECTED = new Color(235, 240, 139);
+    private static final Color TARGET = new Color(182, 245, 182);
+    private static final Color CHECK = Color.RED;
+
+    private static final int MARGIN = 6;
+    private static final int ANIMATION_MS = 200;
+    private static final int FRAME_MS = 15;
+
+    private final PieceSprites sprites;
+    private Board board;
+    private SquareListener listener;
+
+    // Estado desenhado, por casa (row * 8 + col).
+    private final Piece[] pieces = new Piece[64];
+    private final Color[] marks = new Color[64];
+    private int selected = -1;
+    private long targets;
+
+    // Animação: a peça em animTo é desenhada entre animFrom e animTo.
+    private final Timer animation = new Timer(FRAME_MS, e -> animationStep());
+    private int animFrom = -1;
+    private int animTo = -1;
+    private long animStart;
+    private Rectangle animBounds;
+
+    public BoardPanel(Board board, PieceSprites sprites) {
+        this.board = board;
+        this.sprites = sprites;
+        setPreferredSize(new Dimension(8 * 80 + 2 * MARGIN, 8 * 80 + 2 * MARGIN));
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int size = squareSize();
+                if (size <= 0)
+                    return;
+                int col = Math.floorDiv(e.getX() - originX(), size);
+                int row = Math.floorDiv(e.getY() - originY(), size);
+                if (listener != null && row >= 0 && row < 8 && col >= 0 && col < 8)
+                    listener.squareClicked(row, col);
+            }
+        });
+        sync();
+    }
+
+    public void setSquareListener(SquareListener listener) {
+        this.listener = listener;
+    }
+
+    public void setBoard(Board board) {
+        this.board = board;
+        sync();
+    }
+
+    /** Destaca a peça selecionada e as casas para onde ela pode ir. */
+    public void select(Position from, List<Position> moves) {
+        selected = BitboardPosition.square(from.row, from.col);
+        targets = 0;
+        for (Position p : moves)
+            targets |= 1L << BitboardPosition.square(p.row, p.col);
+        sync();
+    }
+
+    public void clearSelection() {
+        selected = -1;
+        targets = 0;
+        sync();
+    }
+
+    /** Compara o tabuleiro com o que está desenhado e repinta só as diferenças. */
+    public void sync() {
+        long checked = 0;
+        for (ChessColor color : ChessColor.values()) {
+            int king = board.getBitboards().kingSquare(color);
+            if (king >= 0 && board.inCheck(color))
+                checked |= 1L << king;
+        }
+
+        for (int sq = 0; sq < 64; sq++) {
+            Piece p = board.at(BitboardPosition.row(sq), BitboardPosition.col(sq));
+            Color mark = (checked >>> sq & 1) != 0 ? CHECK
+                    : sq == selected ? SELECTED
+                    : (targets >>> sq & 1) != 0 ? TARGET : null;
+            if (p != pieces[sq] || mark != marks[sq]) {
+                pieces[sq] = p;
+                marks[sq] = mark;
+                repaint(squareBounds(sq));
+            }
+        }
+    }
+
+    /** Sincroniza com o tabuleiro, deslizando a peça que acabou de ir de from para to. */
+    public void animateMove(Position from, Position to) {
+        finishAnimation();
+        sync();
+        animFrom = BitboardPosition.square(from.row, from.col);
+        animTo = BitboardPosition.square(to.row, to.col);
+        animStart = System.nanoTime();
+        animBounds = squareBounds(animTo);
+        animation.start();
+    }
+
+    private void animationStep() {
+        Rectangle previous = animBounds;
+        if (animationProgress() >= 1) {
+            finishAnimation();
+        } else {
+            animBounds = pieceBounds();
+            repaint(previous.union(animBounds));
+        }
+    }
+
+    private void finishAnimation() {
+        if (animTo < 0)
+            return;
+        animation.stop();
+        repaint(animBounds.union(squareBounds(animTo)));
+        animFrom = animTo = -1;
+    }
+
+    private double animationProgress() {
+        return Math.min(1.0, (System.nanoTime() - animStart) / (ANIMATION_MS * 1_000_000.0));
+    }
+
+    // Posição atual da peça animada, com desaceleração no fim do trajeto.
+    private Rectangle pieceBounds() {
+        double t = animationProgress();
+        t = 1 - (1 - t) * (1 - t);
+        Rectangle a = squareBounds(animFrom);
+        Rectangle b = squareBounds(animTo);
+        return new Rectangle((int) Math.round(a.x + (b.x - a.x) * t), (int) Math.round(a.y + (b.y - a.y) * t),
+                a.width, a.height);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int size = squareSize();
+        if (size <= 0)
+            return;
+
+        Rectangle clip = g.getClipBounds();
+        for (int sq = 0; sq < 64; sq++) {
+            Rectangle r = squareBounds(sq);
+            if (clip != null && !clip.intersects(r))
+                continue;
+
+            int row = BitboardPosition.row(sq), col = BitboardPosition.col(sq);
+            g.setColor(marks[sq] != null ? marks[sq] : (row + col) % 2 == 0 ? LIGHT : DARK);
+            g.fillRect(r.x, r.y, r.width, r.height);
+            if (sq != animTo)
+                paintPiece(g, pieces[sq], r);
+        }
+
+        if (animTo >= 0)
+            paintPiece(g, pieces[animTo], pieceBounds());
+    }
+
+    private void paintPiece(Graphics g, Piece p, Rectangle r) {
+        Icon icon = sprites.icon(p, r.width, r.height);
+        if (icon != null)
+            icon.paintIcon(this, g, r.x, r.y);
+    }
+
+    private int squareSize() {
+        return (Math.min(getWidth(), getHeight()) - 2 * MARGIN) / 8;
+    }
+
+    private int originX() {
+        return (getWidth() - 8 * squareSize()) / 2;
+    }
+
+    private int originY() {
+        return (getHeight() - 8 * squareSize()) / 2;
+    }
+
+    private Rectangle squareBounds(int sq) {
+        int size = squareSize();
+        return new Rectangle(originX() + BitboardPosition.col(sq) * size, originY() + BitboardPosition.row(sq) * size,
+                size, size);
+    }
+}
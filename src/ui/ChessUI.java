@@ -5,16 +5,26 @@ import model.*;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class ChessUI extends JFrame {
-    private JButton[][] buttons = new JButton[8][8];
+    private BoardPanel boardPanel;
     private Board board;
     private Position selected = null;
     private JLabel turnLabel;
-    private final Color lightColor = new Color(240, 217, 181);
-    private final Color darkColor = new Color(181, 136, 99);
     private boolean vsAI = false;
     private ChessAI aiPlayer;
+    // A IA pensa fora da thread do Swing. Uma única thread garante que uma busca
+    // cancelada termine antes de a próxima começar na mesma instância da IA.
+    private final ExecutorService aiExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ia");
+        t.setDaemon(true);
+        return t;
+    });
+    private AIWorker aiWorker;
+    private PonderTask ponderTask;
 
     public ChessUI() {
         this(new Board());
@@ -32,14 +42,7 @@ public class ChessUI extends JFrame {
         initTurnLabel();
         showStartupMenu();
         initBottomPanel();
-        initBoardGrid();
-
-        addComponentListener(new java.awt.event.ComponentAdapter() {
-            @Override
-            public void componentResized(java.awt.event.ComponentEvent e) {
-                refresh();
-            }
-        });
+        initBoardPanel();
 
         setVisible(true);
     }
@@ -166,36 +169,49 @@ public class ChessUI extends JFrame {
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
 
         JButton undoBtn = new JButton("↩️ Desfazer");
-        undoBtn.addActionListener(e -> {
-            if (board.undo())
-                refresh();
-        });
+        undoBtn.addActionListener(e -> undo());
         bottomPanel.add(undoBtn);
 
+        JButton newGameBtn = new JButton("Novo jogo");
+        newGameBtn.addActionListener(e -> newGame());
+        bottomPanel.add(newGameBtn);
+
         add(bottomPanel, BorderLayout.SOUTH);
     }
 
-    private void initBoardGrid() {
-        JPanel panel = new JPanel(new GridLayout(8, 8));
-        panel.setBorder(BorderFactory.createEmptyBorder(6, 6, 6, 6));
-
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                JButton btn = new JButton();
-                btn.setFont(new Font("SansSerif", Font.PLAIN, 36));
-                btn.setBackground((r + c) % 2 == 0 ? lightColor : darkColor);
-                final int row = r, col = c;
-                btn.addActionListener(e -> handleClick(row, col));
-                buttons[r][c] = btn;
-                panel.add(btn);
-            }
-        }
+    private void initBoardPanel() {
+        boardPanel = new BoardPanel(board, new PieceSprites("images"));
+        boardPanel.setSquareListener(this::handleClick);
+        add(boardPanel, BorderLayout.CENTER);
+    }
 
-        add(panel, BorderLayout.CENTER);
-        refresh();
+    // Contra a IA, desfaz até voltar à vez do jogador, cancelando a busca em andamento.
+    private void undo() {
+        boolean thinking = cancelAIMove();
+        boolean undone = board.undo();
+        if (vsAI && !thinking && undone && board.getSideToMove() == ChessColor.BLACK)
+            board.undo();
+        selected = null;
+        boardPanel.clearSelection();
+        updateTurnLabel();
+        startPondering();
+    }
+
+    private void newGame() {
+        cancelAIMove();
+        board = new Board();
+        selected = null;
+        boardPanel.setBoard(board);
+        boardPanel.clearSelection();
+        turnLabel.setText("Vez das Brancas");
+        turnLabel.setBackground(Color.LIGHT_GRAY);
+        startPondering();
     }
 
     private void handleClick(int row, int col) {
+        if (aiWorker != null)
+            return;
+
         Piece p = board.at(row, col);
 
         if (selected == null) {
@@ -208,24 +224,23 @@ public class ChessUI extends JFrame {
                 return;
             }
 
-            selected = new Position(row, col);
-            buttons[row][col].setBackground(new Color(235, 240, 139));
-
-            for (Position move : p.legalTargets(board, selected)) {
-                buttons[move.row][move.col].setBackground(new Color(182, 245, 182));
-            }
+            selected = Position.of(row, col);
+            boardPanel.select(selected, p.legalTargets(board, selected));
         } else {
-            Position to = new Position(row, col);
+            Position to = Position.of(row, col);
             Position from = selected;
 
-            boolean moved = board.move(from, to);
+            PieceType promotion = null;
+            Piece moving = board.at(from.row, from.col);
+            if (board.isPromotion(from, to) && moving.legalTargets(board, from).contains(to))
+                promotion = askPromotion();
+            boolean moved = board.move(from, to, promotion);
 
-            resetColors();
             selected = null;
+            boardPanel.clearSelection();
 
             if (moved) {
-                animateMove(from, to, p);
-                refresh();
+                boardPanel.animateMove(from, to);
 
                 turnLabel.setText("Vez das " + (board.getSideToMove() == ChessColor.WHITE ? "Brancas" : "Pretas"));
                 turnLabel.setBackground(
@@ -239,10 +254,7 @@ public class ChessUI extends JFrame {
                                         (board.getSideToMove() == ChessColor.WHITE ? "Pretas" : "Brancas") +
                                         " venceram!");
 
-                        board = new Board();
-                        refresh();
-                        turnLabel.setText("Vez das Brancas");
-                        turnLabel.setBackground(Color.LIGHT_GRAY);
+                        newGame();
                     } else {
                         JOptionPane.showMessageDialog(this,
                                 "Cheque nas " +
@@ -263,85 +275,140 @@ public class ChessUI extends JFrame {
         }
     }
 
-    private void resetColors() {
-        for (int r = 0; r < 8; r++)
-            for (int c = 0; c < 8; c++)
-                buttons[r][c].setBackground((r + c) % 2 == 0 ? lightColor : darkColor);
+    private PieceType askPromotion() {
+        String[] options = { "Dama", "Torre", "Bispo", "Cavalo" };
+        int choice = JOptionPane.showOptionDialog(
+                this,
+                "Escolha a peça para promoção:",
+                "Promoção de Peão",
+                JOptionPane.DEFAULT_OPTION,
+                JOptionPane.PLAIN_MESSAGE,
+                null,
+                options,
+                options[0]);
+
+        return switch (choice) {
+            case 1 -> PieceType.ROOK;
+            case 2 -> PieceType.BISHOP;
+            case 3 -> PieceType.KNIGHT;
+            default -> PieceType.QUEEN;
+        };
     }
 
-    private void animateMove(Position from, Position to, Piece piece) {
-        JButton fromBtn = buttons[from.row][from.col];
-        JButton toBtn = buttons[to.row][to.col];
+    private void updateTurnLabel() {
+        turnLabel.setText("Vez das " + (board.getSideToMove() == ChessColor.WHITE ? "Brancas" : "Pretas"));
+        turnLabel.setBackground(
+                board.getSideToMove() == ChessColor.WHITE ? new Color(200, 230, 255) : new Color(255, 200, 200));
+    }
 
-        Icon icon = fromBtn.getIcon();
-        fromBtn.setIcon(null);
+    private void makeAIMove() {
+        if (aiPlayer == null || aiWorker != null)
+            return;
 
-        Timer timer = new Timer(200, e -> {
-            toBtn.setIcon(icon);
-            ((Timer) e.getSource()).stop();
-        });
-        timer.start();
+        stopPondering();
+        aiWorker = new AIWorker(aiPlayer, board.copy());
+        turnLabel.setText("Pretas pensando…");
+        aiExecutor.execute(aiWorker);
     }
 
-    private Icon getPieceIcon(Piece p, JButton btn) {
-        if (p == null)
-            return null;
-
-        String name = switch (p.getClass().getSimpleName()) {
-            case "King" -> "king";
-            case "Queen" -> "queen";
-            case "Rook" -> "rook";
-            case "Bishop" -> "bishop";
-            case "Knight" -> "knight";
-            case "Pawn" -> "pawn";
-            default -> "";
-        };
+    // Devolve true se havia uma busca em andamento.
+    private boolean cancelAIMove() {
+        stopPondering();
+        if (aiWorker == null)
+            return false;
+        aiWorker.cancel(false);
+        aiWorker = null;
+        return true;
+    }
 
-        String path = "images/" + (p.getColor() == ChessColor.WHITE ? "white_" : "black_") + name + ".png";
-        ImageIcon icon = new ImageIcon(path);
+    private void applyAIMove(Move move) {
+        aiWorker = null;
+        if (move == null) {
+            updateTurnLabel();
+            return;
+        }
 
-        int w = btn.getWidth();
-        int h = btn.getHeight();
-        if (w <= 0 || h <= 0)
-            return icon;
+        board.move(move.from, move.to, move.promotion == null ? null : move.promotion.getType());
 
-        Image scaled = icon.getImage().getScaledInstance(w, h, Image.SCALE_SMOOTH);
-        return new ImageIcon(scaled);
+        boardPanel.animateMove(move.from, move.to);
+        updateTurnLabel();
+        startPondering();
     }
 
-    private void refresh() {
-        for (int r = 0; r < 8; r++)
-            for (int c = 0; c < 8; c++)
-                buttons[r][c].setIcon(getPieceIcon(board.at(r, c), buttons[r][c]));
+    // Enquanto o jogador pensa, a HardAI continua buscando na posição dele; a busca
+    // do próximo lance da IA encontra o trabalho na tabela de transposição.
+    private void startPondering() {
+        if (!(aiPlayer instanceof HardAI hard) || ponderTask != null || board.getSideToMove() != ChessColor.WHITE)
+            return;
+        ponderTask = new PonderTask(hard, board.copy());
+        aiExecutor.execute(ponderTask);
+    }
 
-        for (ChessColor color : ChessColor.values()) {
-            if (board.inCheck(color)) {
-                Position kingPos = board.findKing(color);
-                if (kingPos != null)
-                    buttons[kingPos.row][kingPos.col].setBackground(Color.RED);
-            }
-        }
+    // Como o executor tem uma só thread, a busca da IA enfileirada em seguida só
+    // começa depois que a reflexão termina, no máximo 1024 nós depois.
+    private void stopPondering() {
+        if (ponderTask == null)
+            return;
+        ponderTask.cancelled = true;
+        ponderTask = null;
     }
 
-    private void updateTurnLabel() {
-        turnLabel.setText("Vez das " + (board.getSideToMove() == ChessColor.WHITE ? "Brancas" : "Pretas"));
-        turnLabel.setBackground(
-                board.getSideToMove() == ChessColor.WHITE ? new Color(200, 230, 255) : new Color(255, 200, 200));
+    private static class PonderTask implements Runnable {
+        private final HardAI ai;
+        private final Board position;
+        private volatile boolean cancelled;
+
+        PonderTask(HardAI ai, Board position) {
+            this.ai = ai;
+            this.position = position;
+        }
+
+        @Override
+        public void run() {
+            ai.ponder(position, () -> cancelled);
+        }
     }
 
-    private void makeAIMove() {
-        if (aiPlayer == null)
-            return;
+    // Busca sobre uma cópia do tabuleiro; o lance só é aplicado de volta na thread
+    // do Swing, e só se a busca não foi cancelada nesse meio tempo.
+    private class AIWorker extends SwingWorker<Move, String> {
+        private final ChessAI ai;
+        private final Board position;
 
-        Move move = aiPlayer.chooseMove(board);
-        if (move == null)
-            return;
+        AIWorker(ChessAI ai, Board position) {
+            this.ai = ai;
+            this.position = position;
+        }
 
-        Piece p = board.at(move.from.row, move.from.col);
-        board.move(move.from, move.to);
+        @Override
+        protected Move doInBackground() {
+            if (isCancelled())
+                return null;
+            if (ai instanceof HardAI hard) {
+                hard.setListener((depth, score, nodes, millis, pv) ->
+                        publish(String.format("Pretas pensando… profundidade %d, %,d nós", depth, nodes)));
+                return hard.chooseMove(position, this::isCancelled);
+            }
+            return ai.chooseMove(position);
+        }
 
-        animateMove(move.from, move.to, p);
-        refresh();
-        updateTurnLabel();
+        @Override
+        protected void process(List<String> progress) {
+            if (aiWorker == this)
+                turnLabel.setText(progress.get(progress.size() - 1));
+        }
+
+        @Override
+        protected void done() {
+            if (aiWorker != this || isCancelled())
+                return;
+            try {
+                applyAIMove(get());
+            } catch (Exception e) {
+                aiWorker = null;
+                updateTurnLabel();
+                JOptionPane.showMessageDialog(ChessUI.this, "Erro na IA: " + e.getCause());
+            }
+        }
     }
 }
@@ -0,0 +1,49 @@
+package ui;
+
+import model.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Imagens das peças, lidas do disco uma única vez. As versões redimensionadas
+ * também são guardadas e só são refeitas quando o tamanho da casa muda.
+ */
+public class PieceSprites {
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private final ImageIcon[] originals = new ImageIcon[12];
+    private final Icon[] scaled = new Icon[12];
+    private int width;
+    private int height;
+
+    public PieceSprites(String directory) {
+        for (ChessColor color : ChessColor.values())
+            for (PieceType type : TYPES)
+                originals[index(type, color)] = new ImageIcon(directory + "/"
+                        + (color == ChessColor.WHITE ? "white_" : "black_") + type.name().toLowerCase() + ".png");
+    }
+
+    public Icon icon(Piece p, int width, int height) {
+        if (p == null)
+            return null;
+
+        int i = index(p.getType(), p.getColor());
+        if (width <= 0 || height <= 0)
+            return originals[i];
+
+        if (width != this.width || height != this.height) {
+            Arrays.fill(scaled, null);
+            this.width = width;
+            this.height = height;
+        }
+        if (scaled[i] == null)
+            scaled[i] = new ImageIcon(originals[i].getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH));
+        return scaled[i];
+    }
+
+    private static int index(PieceType type, ChessColor color) {
+        return color.ordinal() * TYPES.length + type.ordinal();
+    }
+}